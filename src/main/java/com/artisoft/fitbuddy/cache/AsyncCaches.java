@@ -0,0 +1,42 @@
+package com.artisoft.fitbuddy.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Helpers for Caffeine {@link AsyncCache}s that load on the calling thread.
+ */
+public final class AsyncCaches {
+
+    private AsyncCaches() {
+    }
+
+    /**
+     * Returns the cached value for {@code key}, or runs {@code loader} on the calling thread on a miss.
+     * <p>
+     * The loader runs outside the cache's locks, so a blocking database load never pins a virtual thread's
+     * carrier, and it stays inside the caller's transaction. Concurrent misses for the same key wait for
+     * that one load. A failed load is dropped from the cache so the next call retries, and its exception is
+     * rethrown unwrapped to every waiting caller.
+     */
+    public static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> value = cache.get(key, (k, executor) -> loading);
+        if (value == loading) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (RuntimeException ex) {
+                loading.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return value.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.artisoft.fitbuddy.config;
+
+import com.artisoft.fitbuddy.metrics.StatementCountFilter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Service method timers ({@code @Timed} on the services) and per-request SQL statement counts. The statement
+ * inspector itself is registered in application.properties so that JPA slice tests count statements too.
+ * HTTP, JVM and Hikari pool metrics come from the actuator auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(
+            MeterRegistry meterRegistry, @Value("${app.sqlStatementBudget:25}") int statementBudget) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+                new FilterRegistrationBean<>(new StatementCountFilter(meterRegistry, statementBudget));
+        // Outside the security chain, so the principal lookup of the JWT filter is counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
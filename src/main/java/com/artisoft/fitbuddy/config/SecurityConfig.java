@@ -3,6 +3,7 @@ package com.artisoft.fitbuddy.config;
 
 import com.artisoft.fitbuddy.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -36,11 +37,15 @@ public class SecurityConfig {
                         .requestMatchers("/api/docs/**").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/api-docs/**").permitAll()
+                        // Probes and the scraper are unauthenticated; the other actuator endpoints are not
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).authenticated()
 
                         // Secured endpoints
                         .requestMatchers("/api/exercises/**").authenticated()
                         .requestMatchers("/api/workout-programs/**").authenticated()
                         .requestMatchers("/api/progress-logs/**").authenticated()
+                        .requestMatchers("/api/analytics/**").authenticated()
 
                         // Admin endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
@@ -0,0 +1,28 @@
+package com.artisoft.fitbuddy.controller;
+
+import com.artisoft.fitbuddy.dto.CacheStatsDto;
+import com.artisoft.fitbuddy.security.UserPrincipalCache;
+import com.artisoft.fitbuddy.service.ExerciseCatalogCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    private final UserPrincipalCache principalCache;
+    private final ExerciseCatalogCache exerciseCatalogCache;
+
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(List.of(
+                CacheStatsDto.of("principals", principalCache.stats()),
+                CacheStatsDto.of("exercises", exerciseCatalogCache.stats()),
+                CacheStatsDto.of("exerciseCatalog", exerciseCatalogCache.catalogStats())));
+    }
+}
@@ -0,0 +1,38 @@
+package com.artisoft.fitbuddy.controller;
+
+import com.artisoft.fitbuddy.dto.VolumeRollupDto;
+import com.artisoft.fitbuddy.model.ExerciseVolumeRollup;
+import com.artisoft.fitbuddy.service.VolumeRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final VolumeRollupService volumeRollupService;
+
+    @GetMapping("/volume")
+    public ResponseEntity<List<VolumeRollupDto>> getVolume(
+            @RequestParam(defaultValue = "WEEK") ExerciseVolumeRollup.Granularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long exerciseId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(volumeRollupService.getVolume(
+                userDetails.getUsername(), granularity, startDate, endDate, exerciseId));
+    }
+
+    @PostMapping("/volume/rebuild")
+    public ResponseEntity<Void> rebuildVolume(@AuthenticationPrincipal UserDetails userDetails) {
+        volumeRollupService.rebuildRollups(userDetails.getUsername());
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -1,9 +1,13 @@
 package com.artisoft.fitbuddy.controller;
 
+import com.artisoft.fitbuddy.dto.CursorPage;
+import com.artisoft.fitbuddy.dto.ExerciseDeleteReport;
 import com.artisoft.fitbuddy.dto.ExerciseDto;
 import com.artisoft.fitbuddy.dto.ExerciseSearchCriteria;
+import com.artisoft.fitbuddy.dto.ExerciseStatsDto;
 import com.artisoft.fitbuddy.dto.ExerciseUsageDto;
 import com.artisoft.fitbuddy.service.ExerciseService;
+import com.artisoft.fitbuddy.service.ExerciseStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +22,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ExerciseController {
     private final ExerciseService exerciseService;
+    private final ExerciseStatsService exerciseStatsService;
 
     @PostMapping
     public ResponseEntity<ExerciseDto> createExercise(
@@ -27,12 +32,25 @@ public class ExerciseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ExerciseDto>> searchExercises(
+    public ResponseEntity<CursorPage<ExerciseDto>> searchExercises(
             @ModelAttribute ExerciseSearchCriteria criteria,
             @AuthenticationPrincipal UserDetails userDetails) {
         return ResponseEntity.ok(exerciseService.searchExercises(criteria, userDetails.getUsername()));
     }
 
+    @GetMapping("/stats")
+    public ResponseEntity<List<ExerciseStatsDto>> getExerciseStats(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(exerciseStatsService.getExerciseStats(userDetails.getUsername()));
+    }
+
+    @GetMapping("/usage")
+    public ResponseEntity<List<ExerciseUsageDto>> getExerciseUsages(
+            @RequestParam List<Long> ids,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(exerciseService.getExerciseUsages(ids, userDetails.getUsername()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ExerciseDto> getExercise(
             @PathVariable Long id,
@@ -47,6 +65,13 @@ public class ExerciseController {
         return ResponseEntity.ok(exerciseService.getExerciseUsage(id, userDetails.getUsername()));
     }
 
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ExerciseStatsDto> getExerciseStats(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(exerciseStatsService.getExerciseStats(id, userDetails.getUsername()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ExerciseDto> updateExercise(
             @PathVariable Long id,
@@ -65,10 +90,9 @@ public class ExerciseController {
     }
 
     @DeleteMapping
-    public ResponseEntity<Void> deleteExercises(
+    public ResponseEntity<ExerciseDeleteReport> deleteExercises(
             @RequestParam List<Long> ids,
             @AuthenticationPrincipal UserDetails userDetails) {
-        exerciseService.deleteExercises(ids, userDetails.getUsername());
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(exerciseService.deleteExercises(ids, userDetails.getUsername()));
     }
 }
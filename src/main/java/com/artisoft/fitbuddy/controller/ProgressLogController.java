@@ -1,16 +1,25 @@
 package com.artisoft.fitbuddy.controller;
 
+import com.artisoft.fitbuddy.dto.CursorPage;
 import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.dto.ProgressLogImportReport;
 import com.artisoft.fitbuddy.dto.ProgressLogSummaryDto;
+import com.artisoft.fitbuddy.service.ProgressLogExportService;
+import com.artisoft.fitbuddy.service.ProgressLogImportService;
 import com.artisoft.fitbuddy.service.ProgressLogService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,6 +28,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProgressLogController {
     private final ProgressLogService progressLogService;
+    private final ProgressLogExportService progressLogExportService;
+    private final ProgressLogImportService progressLogImportService;
 
     @PostMapping
     public ResponseEntity<ProgressLogDto> createProgressLog(
@@ -35,6 +46,26 @@ public class ProgressLogController {
         return ResponseEntity.ok(progressLogService.getUserProgressLogs(userDetails.getUsername(), startDate, endDate));
     }
 
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportProgressLogs(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String username = userDetails.getUsername();
+        StreamingResponseBody body = out -> progressLogExportService.exportUserHistory(username, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"progress-logs.ndjson\"")
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ProgressLogImportReport> importProgressLogs(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        ProgressLogImportService.ImportFormat format = ProgressLogImportService.ImportFormat.fromContentType(contentType);
+        return ResponseEntity.ok(progressLogImportService.importProgressLogs(body, format, userDetails.getUsername()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProgressLogDto> getProgressLog(
             @PathVariable Long id,
@@ -59,16 +90,20 @@ public class ProgressLogController {
     }
 
     @GetMapping("/program/{programId}/summaries")
-    public ResponseEntity<List<ProgressLogSummaryDto>> getProgramLogSummaries(
+    public ResponseEntity<CursorPage<ProgressLogSummaryDto>> getProgramLogSummaries(
             @PathVariable Long programId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(progressLogService.getProgressLogSummaries(programId, userDetails.getUsername()));
+        return ResponseEntity.ok(progressLogService.getProgressLogSummaries(programId, cursor, size, userDetails.getUsername()));
     }
 
     @GetMapping("/program/{programId}")
-    public ResponseEntity<List<ProgressLogDto>> getProgramLogs(
+    public ResponseEntity<CursorPage<ProgressLogDto>> getProgramLogs(
             @PathVariable Long programId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(progressLogService.getProgressLogs(programId, userDetails.getUsername()));
+        return ResponseEntity.ok(progressLogService.getProgressLogs(programId, cursor, size, userDetails.getUsername()));
     }
 }
@@ -0,0 +1,19 @@
+package com.artisoft.fitbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk exercise delete. Logged progress entries that referenced a deleted exercise are kept
+ * but detached from it, and counted in {@code detachedProgressEntries}. An entry performed as a deleted
+ * replacement keeps its planned slot but no longer counts towards any exercise's stats.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExerciseDeleteReport {
+    private int deletedExercises;
+    private int deletedPlannedExercises;
+    private int detachedProgressEntries;
+}
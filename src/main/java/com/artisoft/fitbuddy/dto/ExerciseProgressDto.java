@@ -19,12 +19,19 @@ public class ExerciseProgressDto {
     @NotNull(message = "Actual sets is required")
     private Integer actualSets;
 
+    @NotNull(message = "Reps per set are required")
     @Size(min = 1, message = "At least one set must be recorded")
     private List<Integer> repsPerSet = new ArrayList<>();
 
+    @NotNull(message = "Weight per set is required")
     private List<Double> weightPerSet = new ArrayList<>();
+
     private Integer restPeriodBetweenSets;
+
+    @NotNull(message = "Completed is required")
     private Boolean completed = false;
+
+    @NotNull(message = "Skipped is required")
     private Boolean skipped = false;
     private String notes;
 }
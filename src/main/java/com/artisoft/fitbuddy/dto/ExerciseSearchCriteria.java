@@ -5,5 +5,13 @@ import lombok.Data;
 @Data
 public class ExerciseSearchCriteria {
     private String name;
-    private Boolean standaloneOnly = false;
+    private Boolean standaloneOnly = false;  // Only exercises not planned in any workout day
+    private Integer limit;  // Maximum number of name matches, best first
+    private String cursor;  // Listing only: nextCursor of the previous page
+    private Integer size;  // Listing only: page size
+    private SortOrder sort = SortOrder.NAME;  // Listing only
+
+    public enum SortOrder {
+        NAME, ID
+    }
 }
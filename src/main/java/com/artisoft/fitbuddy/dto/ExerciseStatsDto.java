@@ -0,0 +1,18 @@
+package com.artisoft.fitbuddy.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ExerciseStatsDto {
+    private Long exerciseId;
+    private String exerciseName;
+    private Double maxWeight;
+    private Integer bestSetReps;
+    private Double bestSetWeight;
+    private Double estimatedOneRepMax;
+    private Double totalVolume;
+    private Integer totalSets;
+    private LocalDate lastPerformed;
+}
@@ -0,0 +1,30 @@
+package com.artisoft.fitbuddy.dto;
+
+import com.artisoft.fitbuddy.model.WorkoutDay;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One (exercise, program, day) usage as selected by the JPQL constructor expression in ExerciseRepository.
+ * Program and day columns are {@code null} for an exercise that no workout day uses.
+ */
+@Data
+@NoArgsConstructor
+public class ExerciseUsageRow {
+    private Long exerciseId;
+    private String exerciseName;
+    private Long programId;
+    private String programName;
+    private Long dayId;
+    private String dayOfWeek;
+
+    public ExerciseUsageRow(Long exerciseId, String exerciseName, Long programId, String programName,
+                            Long dayId, WorkoutDay.DayOfWeek dayOfWeek) {
+        this.exerciseId = exerciseId;
+        this.exerciseName = exerciseName;
+        this.programId = programId;
+        this.programName = programName;
+        this.dayId = dayId;
+        this.dayOfWeek = dayOfWeek != null ? dayOfWeek.name() : null;
+    }
+}
@@ -20,6 +20,8 @@ public class ProgressLogDto {
     private Long workoutDayId;
     private String workoutDayName;  // e.g., "MONDAY"
 
+    @NotNull(message = "Exercise progresses are required")
     @Size(min = 1, message = "At least one exercise progress must be recorded")
-    private List<ExerciseProgressDto> exerciseProgresses = new ArrayList<>();
+    private List<@NotNull(message = "Exercise progress must not be null") ExerciseProgressDto> exerciseProgresses =
+            new ArrayList<>();
 }
@@ -0,0 +1,27 @@
+package com.artisoft.fitbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} lists rejected records by the line they start on and is
+ * capped, so {@code failed} can be larger than {@code errors.size()}.
+ */
+@Data
+public class ProgressLogImportReport {
+    private int imported;
+    private int failed;
+    private List<LineError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
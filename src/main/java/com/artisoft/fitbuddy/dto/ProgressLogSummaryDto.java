@@ -1,10 +1,13 @@
 package com.artisoft.fitbuddy.dto;
 
+import com.artisoft.fitbuddy.model.WorkoutDay;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 public class ProgressLogSummaryDto {
     private Long id;
     private LocalDate date;
@@ -12,4 +15,15 @@ public class ProgressLogSummaryDto {
     private Integer totalExercises;
     private Integer completedExercises;
     private Integer skippedExercises;
+
+    // Used by the aggregate JPQL constructor expressions in ProgressLogRepository
+    public ProgressLogSummaryDto(Long id, LocalDate date, WorkoutDay.DayOfWeek dayOfWeek,
+                                 Long totalExercises, Long completedExercises, Long skippedExercises) {
+        this.id = id;
+        this.date = date;
+        this.workoutDayName = dayOfWeek != null ? dayOfWeek.name() : null;
+        this.totalExercises = totalExercises != null ? totalExercises.intValue() : 0;
+        this.completedExercises = completedExercises != null ? completedExercises.intValue() : 0;
+        this.skippedExercises = skippedExercises != null ? skippedExercises.intValue() : 0;
+    }
 }
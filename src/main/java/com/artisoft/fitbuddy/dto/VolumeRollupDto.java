@@ -0,0 +1,16 @@
+package com.artisoft.fitbuddy.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class VolumeRollupDto {
+    private LocalDate periodStart;
+    private Long exerciseId;
+    private String exerciseName;
+    private Double volume;
+    private Integer sets;
+    private Integer reps;
+    private Integer sessions;
+}
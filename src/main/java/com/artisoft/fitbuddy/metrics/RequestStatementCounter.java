@@ -0,0 +1,56 @@
+package com.artisoft.fitbuddy.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Scope} is open.
+ * Statements issued outside any scope, e.g. by scheduled jobs, are not counted. Scopes nest: a request
+ * scope opened inside a test's scope counts into both.
+ */
+public class RequestStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    public static Scope open() {
+        long[] count = COUNT.get();
+        boolean outermost = count == null;
+        if (outermost) {
+            count = new long[1];
+            COUNT.set(count);
+        }
+        return new Scope(count, count[0], outermost);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final long[] count;
+        private final long start;
+        private final boolean outermost;
+
+        private Scope(long[] count, long start, boolean outermost) {
+            this.count = count;
+            this.start = start;
+            this.outermost = outermost;
+        }
+
+        public long statements() {
+            return count[0] - start;
+        }
+
+        @Override
+        public void close() {
+            if (outermost) {
+                COUNT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.artisoft.fitbuddy.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements each request issues as {@code fitbuddy.http.server.statements},
+ * tagged like {@code http.server.requests} with the method and the matched URI pattern. Requests over
+ * the statement budget, usually an N+1 of lazy loads, are logged and counted in
+ * {@code fitbuddy.http.server.statements.over.budget}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "fitbuddy.http.server.statements";
+    static final String OVER_BUDGET_METRIC = "fitbuddy.http.server.statements.over.budget";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatementCounter.Scope scope = RequestStatementCounter.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            record(request, scope.statements());
+        }
+    }
+
+    private void record(HttpServletRequest request, long statements) {
+        String uri = uri(request);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        DistributionSummary.builder(METRIC)
+                .description("SQL statements issued per request")
+                .baseUnit("statements")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+
+        if (statements > statementBudget) {
+            log.warn("{} {} issued {} SQL statements, over the budget of {}",
+                    request.getMethod(), uri, statements, statementBudget);
+            meterRegistry.counter(OVER_BUDGET_METRIC, tags).increment();
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Unmatched paths (404s, scans) share one tag value so they cannot blow up the series count
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -15,7 +15,8 @@ import java.util.List;
 @Table(name = "exercise_progresses")
 public class ExerciseProgress {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercise_progress_seq")
+    @SequenceGenerator(name = "exercise_progress_seq", sequenceName = "exercise_progress_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -30,6 +31,10 @@ public class ExerciseProgress {
     @JoinColumn(name = "replacement_exercise_id")
     private Exercise replacementExercise;
 
+    // The replacement exercise was deleted; the entry no longer counts for any exercise
+    @Column(nullable = false)
+    private Boolean replacementRemoved = false;
+
     @Column(nullable = false)
     private Integer orderIndex;
 
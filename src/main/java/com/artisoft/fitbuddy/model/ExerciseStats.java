@@ -0,0 +1,88 @@
+package com.artisoft.fitbuddy.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Running personal records and volume of one user on one exercise, kept in step with the progress logs
+ * so PR lookups never scan set details. Skipped exercises and sets without reps or weight do not count
+ * towards records; estimated 1RM uses the Epley formula.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "exercise_stats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "exercise_id"}))
+public class ExerciseStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercise_stats_seq")
+    @SequenceGenerator(name = "exercise_stats_seq", sequenceName = "exercise_stats_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exercise_id", nullable = false)
+    private Exercise exercise;
+
+    private Double maxWeight;
+
+    // The set with the highest estimated 1RM
+    private Integer bestSetReps;
+    private Double bestSetWeight;
+
+    @Column(name = "estimated_one_rep_max")
+    private Double estimatedOneRepMax;
+
+    @Column(nullable = false)
+    private Double totalVolume = 0.0;
+
+    @Column(nullable = false)
+    private Integer totalSets = 0;
+
+    private LocalDate lastPerformed;
+
+    // Concurrent logs for the same exercise must not overwrite each other's running totals
+    @Version
+    private Long version;
+
+    public void recordSet(LocalDate date, Integer reps, Double weight) {
+        totalSets++;
+        if (lastPerformed == null || date.isAfter(lastPerformed)) {
+            lastPerformed = date;
+        }
+        if (reps == null || reps < 1 || weight == null) {
+            return;
+        }
+
+        totalVolume += reps * weight;
+        if (maxWeight == null || weight > maxWeight) {
+            maxWeight = weight;
+        }
+        double estimate = estimateOneRepMax(reps, weight);
+        if (estimatedOneRepMax == null || estimate > estimatedOneRepMax) {
+            estimatedOneRepMax = estimate;
+            bestSetReps = reps;
+            bestSetWeight = weight;
+        }
+    }
+
+    public void reset() {
+        maxWeight = null;
+        bestSetReps = null;
+        bestSetWeight = null;
+        estimatedOneRepMax = null;
+        totalVolume = 0.0;
+        totalSets = 0;
+        lastPerformed = null;
+    }
+
+    public static double estimateOneRepMax(int reps, double weight) {
+        return reps == 1 ? weight : weight * (1 + reps / 30.0);
+    }
+}
@@ -0,0 +1,68 @@
+package com.artisoft.fitbuddy.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Training volume of one user on one exercise within a day, ISO week or month. Every log is counted in
+ * all three granularities, so charts read a handful of rows instead of the underlying sets.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "exercise_volume_rollups",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "granularity", "period_start", "exercise_id"}))
+public class ExerciseVolumeRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercise_volume_rollup_seq")
+    @SequenceGenerator(name = "exercise_volume_rollup_seq", sequenceName = "exercise_volume_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exercise_id", nullable = false)
+    private Exercise exercise;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private Double volume = 0.0;
+
+    @Column(nullable = false)
+    private Integer sets = 0;
+
+    @Column(nullable = false)
+    private Integer reps = 0;
+
+    // Number of logs in the period that include the exercise
+    @Column(nullable = false)
+    private Integer sessions = 0;
+
+    @Version
+    private Long version;
+
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        public LocalDate periodStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+    }
+}
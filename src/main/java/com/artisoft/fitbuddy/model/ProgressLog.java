@@ -15,7 +15,8 @@ import java.util.List;
 @Table(name = "progress_logs")
 public class ProgressLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progress_log_seq")
+    @SequenceGenerator(name = "progress_log_seq", sequenceName = "progress_log_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -15,7 +15,8 @@ import java.util.List;
 @Table(name = "workout_days")
 public class WorkoutDay {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_day_seq")
+    @SequenceGenerator(name = "workout_day_seq", sequenceName = "workout_day_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
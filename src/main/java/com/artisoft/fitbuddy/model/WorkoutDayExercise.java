@@ -12,7 +12,8 @@ import lombok.AllArgsConstructor;
 @Table(name = "workout_day_exercises")
 public class WorkoutDayExercise {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_day_exercise_seq")
+    @SequenceGenerator(name = "workout_day_exercise_seq", sequenceName = "workout_day_exercise_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Entity
@@ -29,4 +31,13 @@ public class WorkoutProgram {
 
     @OneToMany(mappedBy = "workoutProgram", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<WorkoutDay> workoutDays;
+
+    // Maintained by ProgramActivityService with set-based updates; never written from the entity,
+    // so saving a stale program cannot overwrite a concurrent log write
+    @Column(name = "last_log_date", insertable = false, updatable = false)
+    private LocalDate lastLogDate;
+
+    @ColumnDefault("0")
+    @Column(name = "log_count", nullable = false, insertable = false, updatable = false)
+    private int logCount;
 }
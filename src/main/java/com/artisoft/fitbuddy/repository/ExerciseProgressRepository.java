@@ -0,0 +1,57 @@
+package com.artisoft.fitbuddy.repository;
+
+import com.artisoft.fitbuddy.model.ExerciseProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ExerciseProgressRepository extends JpaRepository<ExerciseProgress, Long> {
+
+    @Query("SELECT DISTINCT ep FROM ExerciseProgress ep " +
+            "LEFT JOIN FETCH ep.setDetails " +
+            "WHERE ep.progressLog.id IN :progressLogIds")
+    List<ExerciseProgress> findAllWithSetDetailsByProgressLogIdIn(@Param("progressLogIds") Collection<Long> progressLogIds);
+
+    // Entries of other users that were planned as or performed as one of the exercises
+    @Query("SELECT CASE WHEN COUNT(ep) > 0 THEN true ELSE false END " +
+            "FROM ExerciseProgress ep " +
+            "JOIN ep.progressLog pl " +
+            "JOIN pl.workoutProgram wp " +
+            "JOIN wp.user u " +
+            "LEFT JOIN ep.plannedExercise wde " +
+            "WHERE (ep.replacementExercise.id IN :exerciseIds OR wde.exercise.id IN :exerciseIds) " +
+            "AND u.username <> :username")
+    boolean isAnyLoggedByOtherUsers(@Param("exerciseIds") Collection<Long> exerciseIds,
+                                    @Param("username") String username);
+
+    // An entry performed as a deleted replacement keeps its planned slot but no longer counts for any exercise,
+    // including its planned one, so stats and rollups of the planned exercise stay as they were
+    @Modifying
+    @Query("UPDATE ExerciseProgress ep SET ep.replacementExercise = NULL, ep.replacementRemoved = true " +
+            "WHERE ep.replacementExercise.id IN :exerciseIds")
+    int detachReplacementExercises(@Param("exerciseIds") Collection<Long> exerciseIds);
+
+    @Modifying
+    @Query("UPDATE ExerciseProgress ep SET ep.plannedExercise = NULL " +
+            "WHERE ep.plannedExercise.id IN " +
+            "(SELECT wde.id FROM WorkoutDayExercise wde WHERE wde.exercise.id IN :exerciseIds)")
+    int detachPlannedExercises(@Param("exerciseIds") Collection<Long> exerciseIds);
+
+    // Entries logged against a plan row that is being removed keep counting for the exercise they were done as;
+    // run before detachWorkoutDayExercises
+    @Modifying
+    @Query("UPDATE ExerciseProgress ep SET ep.replacementExercise = " +
+            "(SELECT wde.exercise FROM WorkoutDayExercise wde WHERE wde.id = ep.plannedExercise.id) " +
+            "WHERE ep.plannedExercise.id IN :workoutDayExerciseIds AND ep.replacementExercise IS NULL " +
+            "AND ep.replacementRemoved = false")
+    int pinPlannedExercises(@Param("workoutDayExerciseIds") Collection<Long> workoutDayExerciseIds);
+
+    @Modifying
+    @Query("UPDATE ExerciseProgress ep SET ep.plannedExercise = NULL " +
+            "WHERE ep.plannedExercise.id IN :workoutDayExerciseIds")
+    int detachWorkoutDayExercises(@Param("workoutDayExerciseIds") Collection<Long> workoutDayExerciseIds);
+}
@@ -1,14 +1,52 @@
 package com.artisoft.fitbuddy.repository;
 
+import com.artisoft.fitbuddy.dto.ExerciseUsageRow;
 import com.artisoft.fitbuddy.model.Exercise;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
     List<Exercise> findByNameContainingIgnoreCase(String name);
 
+    // Served by the pg_trgm GIN index from V6__exercise_name_trigram_index.sql; PostgreSQL only.
+    // Substring matches come first, then names within word similarity of the query for typos.
+    @Query(value = "SELECT e.* FROM exercises e " +
+            "WHERE (e.name ILIKE CONCAT('%', :pattern, '%') OR :query <% e.name) " +
+            "AND (:standaloneOnly = FALSE OR NOT EXISTS " +
+            "(SELECT 1 FROM workout_day_exercises wde WHERE wde.exercise_id = e.id)) " +
+            "ORDER BY (e.name ILIKE CONCAT('%', :pattern, '%')) DESC, " +
+            "word_similarity(:query, e.name) DESC, similarity(:query, e.name) DESC, e.name " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Exercise> searchByNameSimilarity(String query, String pattern, boolean standaloneOnly, int limit);
+
+    // Keyset pages of exercises not planned in any workout day; LOWER(name), id is indexed by V7
+    @Query("SELECT e FROM Exercise e " +
+            "WHERE NOT EXISTS (SELECT 1 FROM WorkoutDayExercise wde WHERE wde.exercise = e) " +
+            "ORDER BY LOWER(e.name), e.id")
+    List<Exercise> findStandaloneOrderByName(Limit limit);
+
+    @Query("SELECT e FROM Exercise e " +
+            "WHERE NOT EXISTS (SELECT 1 FROM WorkoutDayExercise wde WHERE wde.exercise = e) " +
+            "AND (LOWER(e.name) > LOWER(:name) OR (LOWER(e.name) = LOWER(:name) AND e.id > :id)) " +
+            "ORDER BY LOWER(e.name), e.id")
+    List<Exercise> findStandaloneOrderByNameAfter(String name, Long id, Limit limit);
+
+    @Query("SELECT e FROM Exercise e " +
+            "WHERE NOT EXISTS (SELECT 1 FROM WorkoutDayExercise wde WHERE wde.exercise = e) " +
+            "ORDER BY e.id")
+    List<Exercise> findStandaloneOrderById(Limit limit);
+
+    @Query("SELECT e FROM Exercise e " +
+            "WHERE NOT EXISTS (SELECT 1 FROM WorkoutDayExercise wde WHERE wde.exercise = e) " +
+            "AND e.id > :id " +
+            "ORDER BY e.id")
+    List<Exercise> findStandaloneOrderByIdAfter(Long id, Limit limit);
+
     @Query("SELECT DISTINCT e FROM Exercise e " +
             "JOIN e.workoutDayExercises wde " +
             "WHERE wde.workoutDay.id = :workoutDayId")
@@ -25,4 +63,43 @@ public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
             "FROM WorkoutDayExercise wde " +
             "WHERE wde.exercise.id = :exerciseId")
     boolean isExerciseUsedInWorkout(Long exerciseId);
+
+    // Stops at the first foreign usage instead of loading every usage with its day, program and user
+    @Query("SELECT CASE WHEN EXISTS (" +
+            "SELECT 1 FROM WorkoutDayExercise wde " +
+            "JOIN wde.workoutDay wd " +
+            "JOIN wd.workoutProgram wp " +
+            "JOIN wp.user u " +
+            "WHERE wde.exercise.id = :exerciseId AND u.username <> :username) " +
+            "THEN true ELSE false END " +
+            "FROM Exercise e WHERE e.id = :exerciseId")
+    boolean isUsedByOtherUsers(Long exerciseId, String username);
+
+    // Set-based isUsedByOtherUsers for bulk deletes
+    @Query("SELECT CASE WHEN COUNT(wde) > 0 THEN true ELSE false END " +
+            "FROM WorkoutDayExercise wde " +
+            "JOIN wde.workoutDay wd " +
+            "JOIN wd.workoutProgram wp " +
+            "JOIN wp.user u " +
+            "WHERE wde.exercise.id IN :exerciseIds AND u.username <> :username")
+    boolean isAnyUsedByOtherUsers(Collection<Long> exerciseIds, String username);
+
+    // Ordered so callers can group exercise -> program -> day in a single pass. A day that plans the
+    // exercise twice yields two adjacent rows.
+    @Query("SELECT new com.artisoft.fitbuddy.dto.ExerciseUsageRow(" +
+            "e.id, e.name, wp.id, wp.name, wd.id, wd.dayOfWeek) " +
+            "FROM Exercise e " +
+            "LEFT JOIN e.workoutDayExercises wde " +
+            "LEFT JOIN wde.workoutDay wd " +
+            "LEFT JOIN wd.workoutProgram wp " +
+            "WHERE e.id IN :ids " +
+            "ORDER BY e.id, wp.id, wd.id")
+    List<ExerciseUsageRow> findUsageRowsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT e.id FROM Exercise e WHERE e.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Exercise e WHERE e.id IN :ids")
+    int deleteByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,46 @@
+package com.artisoft.fitbuddy.repository;
+
+import com.artisoft.fitbuddy.model.ExerciseStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ExerciseStatsRepository extends JpaRepository<ExerciseStats, Long> {
+    List<ExerciseStats> findByUserIdAndExerciseIdIn(Long userId, Collection<Long> exerciseIds);
+
+    @Modifying
+    @Query("DELETE FROM ExerciseStats es WHERE es.exercise.id IN :exerciseIds")
+    int deleteByExerciseIdIn(@Param("exerciseIds") Collection<Long> exerciseIds);
+
+    @Query("SELECT es FROM ExerciseStats es JOIN FETCH es.exercise " +
+            "WHERE es.user.id = :userId " +
+            "ORDER BY es.exercise.name")
+    List<ExerciseStats> findAllWithExerciseByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT es FROM ExerciseStats es JOIN FETCH es.exercise " +
+            "WHERE es.user.id = :userId AND es.exercise.id = :exerciseId")
+    Optional<ExerciseStats> findWithExerciseByUserIdAndExerciseId(@Param("userId") Long userId,
+                                                                  @Param("exerciseId") Long exerciseId);
+
+    /**
+     * Every recorded set of the given exercises for one user as {@code [exerciseId, date, reps, weight]},
+     * used to rebuild stats after logs are edited or removed.
+     */
+    @Query("SELECT COALESCE(re.id, pe.id), pl.date, sd.reps, sd.weight " +
+            "FROM ExerciseProgress ep " +
+            "JOIN ep.progressLog pl " +
+            "JOIN ep.setDetails sd " +
+            "LEFT JOIN ep.replacementExercise re " +
+            "LEFT JOIN ep.plannedExercise wde " +
+            "LEFT JOIN wde.exercise pe " +
+            "WHERE pl.workoutProgram.user.id = :userId " +
+            "AND ep.skipped = false AND ep.replacementRemoved = false " +
+            "AND COALESCE(re.id, pe.id) IN :exerciseIds")
+    List<Object[]> findPerformedSets(@Param("userId") Long userId,
+                                     @Param("exerciseIds") Collection<Long> exerciseIds);
+}
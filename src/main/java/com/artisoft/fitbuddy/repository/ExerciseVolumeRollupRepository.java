@@ -0,0 +1,68 @@
+package com.artisoft.fitbuddy.repository;
+
+import com.artisoft.fitbuddy.model.ExerciseVolumeRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ExerciseVolumeRollupRepository extends JpaRepository<ExerciseVolumeRollup, Long> {
+
+    @Query("SELECT r FROM ExerciseVolumeRollup r " +
+            "WHERE r.user.id = :userId " +
+            "AND r.exercise.id IN :exerciseIds " +
+            "AND r.periodStart BETWEEN :from AND :to")
+    List<ExerciseVolumeRollup> findForUpdate(@Param("userId") Long userId,
+                                             @Param("exerciseIds") Collection<Long> exerciseIds,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+
+    @Query("SELECT r FROM ExerciseVolumeRollup r JOIN FETCH r.exercise e " +
+            "WHERE r.user.id = :userId " +
+            "AND r.granularity = :granularity " +
+            "AND r.periodStart BETWEEN :from AND :to " +
+            "ORDER BY r.periodStart, e.name")
+    List<ExerciseVolumeRollup> findRange(@Param("userId") Long userId,
+                                         @Param("granularity") ExerciseVolumeRollup.Granularity granularity,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    @Query("SELECT r FROM ExerciseVolumeRollup r JOIN FETCH r.exercise e " +
+            "WHERE r.user.id = :userId " +
+            "AND r.exercise.id = :exerciseId " +
+            "AND r.granularity = :granularity " +
+            "AND r.periodStart BETWEEN :from AND :to " +
+            "ORDER BY r.periodStart")
+    List<ExerciseVolumeRollup> findRangeForExercise(@Param("userId") Long userId,
+                                                    @Param("exerciseId") Long exerciseId,
+                                                    @Param("granularity") ExerciseVolumeRollup.Granularity granularity,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM ExerciseVolumeRollup r WHERE r.user.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ExerciseVolumeRollup r WHERE r.exercise.id IN :exerciseIds")
+    int deleteByExerciseIdIn(@Param("exerciseIds") Collection<Long> exerciseIds);
+
+    /**
+     * Every recorded set of the user as {@code [logId, exerciseId, date, reps, weight]}, used to rebuild
+     * the rollups from scratch.
+     */
+    @Query("SELECT pl.id, COALESCE(re.id, pe.id), pl.date, sd.reps, sd.weight " +
+            "FROM ExerciseProgress ep " +
+            "JOIN ep.progressLog pl " +
+            "JOIN ep.setDetails sd " +
+            "LEFT JOIN ep.replacementExercise re " +
+            "LEFT JOIN ep.plannedExercise wde " +
+            "LEFT JOIN wde.exercise pe " +
+            "WHERE pl.workoutProgram.user.id = :userId " +
+            "AND ep.skipped = false AND ep.replacementRemoved = false")
+    List<Object[]> findPerformedSetsByUserId(@Param("userId") Long userId);
+}
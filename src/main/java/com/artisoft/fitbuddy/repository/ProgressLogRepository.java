@@ -1,10 +1,15 @@
 package com.artisoft.fitbuddy.repository;
 
+import com.artisoft.fitbuddy.dto.ProgressLogSummaryDto;
 import com.artisoft.fitbuddy.model.ProgressLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProgressLogRepository extends JpaRepository<ProgressLog, Long> {
@@ -19,4 +24,81 @@ public interface ProgressLogRepository extends JpaRepository<ProgressLog, Long>
     List<ProgressLog> findByWorkoutProgramIdOrderByDateDesc(Long programId);
 
     boolean existsByWorkoutProgramIdAndDate(Long programId, LocalDate date);
+
+    // First phase of the two-phase load: ordered ids only, no joins. Keyset pages on (date, id).
+    @Query("SELECT pl.id FROM ProgressLog pl " +
+            "WHERE pl.workoutProgram.id = :programId " +
+            "ORDER BY pl.date DESC, pl.id DESC")
+    List<Long> findIdsByWorkoutProgramId(@Param("programId") Long programId, Limit limit);
+
+    @Query("SELECT pl.id FROM ProgressLog pl " +
+            "WHERE pl.workoutProgram.id = :programId " +
+            "AND (pl.date < :date OR (pl.date = :date AND pl.id < :id)) " +
+            "ORDER BY pl.date DESC, pl.id DESC")
+    List<Long> findIdsByWorkoutProgramIdAfter(@Param("programId") Long programId,
+                                              @Param("date") LocalDate date,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    // Second phase: logs with their to-one graph and exercise progresses; set details are fetched
+    // separately by ExerciseProgressRepository to avoid a logs x exercises x sets cartesian product
+    @Query("SELECT DISTINCT pl FROM ProgressLog pl " +
+            "JOIN FETCH pl.workoutProgram wp " +
+            "JOIN FETCH wp.user " +
+            "LEFT JOIN FETCH pl.workoutDay " +
+            "LEFT JOIN FETCH pl.exerciseProgresses ep " +
+            "LEFT JOIN FETCH ep.plannedExercise pe " +
+            "LEFT JOIN FETCH pe.exercise " +
+            "LEFT JOIN FETCH pe.workoutDay " +
+            "LEFT JOIN FETCH ep.replacementExercise " +
+            "WHERE pl.id IN :ids")
+    List<ProgressLog> findAllWithExerciseProgressesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.artisoft.fitbuddy.dto.ProgressLogSummaryDto(" +
+            "pl.id, pl.date, wd.dayOfWeek, COUNT(ep), " +
+            "SUM(CASE WHEN ep.completed = true THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ep.skipped = true THEN 1 ELSE 0 END)) " +
+            "FROM ProgressLog pl " +
+            "LEFT JOIN pl.workoutDay wd " +
+            "LEFT JOIN pl.exerciseProgresses ep " +
+            "WHERE pl.workoutProgram.id = :programId " +
+            "GROUP BY pl.id, pl.date, wd.dayOfWeek " +
+            "ORDER BY pl.date DESC, pl.id DESC")
+    List<ProgressLogSummaryDto> findSummariesByWorkoutProgramId(@Param("programId") Long programId, Limit limit);
+
+    @Query("SELECT new com.artisoft.fitbuddy.dto.ProgressLogSummaryDto(" +
+            "pl.id, pl.date, wd.dayOfWeek, COUNT(ep), " +
+            "SUM(CASE WHEN ep.completed = true THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ep.skipped = true THEN 1 ELSE 0 END)) " +
+            "FROM ProgressLog pl " +
+            "LEFT JOIN pl.workoutDay wd " +
+            "LEFT JOIN pl.exerciseProgresses ep " +
+            "WHERE pl.workoutProgram.id = :programId " +
+            "AND (pl.date < :date OR (pl.date = :date AND pl.id < :id)) " +
+            "GROUP BY pl.id, pl.date, wd.dayOfWeek " +
+            "ORDER BY pl.date DESC, pl.id DESC")
+    List<ProgressLogSummaryDto> findSummariesByWorkoutProgramIdAfter(@Param("programId") Long programId,
+                                                                     @Param("date") LocalDate date,
+                                                                     @Param("id") Long id,
+                                                                     Limit limit);
+
+    @Query("SELECT new com.artisoft.fitbuddy.dto.ProgressLogSummaryDto(" +
+            "pl.id, pl.date, wd.dayOfWeek, COUNT(ep), " +
+            "SUM(CASE WHEN ep.completed = true THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ep.skipped = true THEN 1 ELSE 0 END)) " +
+            "FROM ProgressLog pl " +
+            "LEFT JOIN pl.workoutDay wd " +
+            "LEFT JOIN pl.exerciseProgresses ep " +
+            "WHERE pl.workoutProgram.user.id = :userId " +
+            "AND pl.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY pl.id, pl.date, wd.dayOfWeek " +
+            "ORDER BY pl.date DESC, pl.id DESC")
+    List<ProgressLogSummaryDto> findSummariesByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                                    @Param("startDate") LocalDate startDate,
+                                                                    @Param("endDate") LocalDate endDate);
+
+    // Logs of a workout day that is being removed stay with their program
+    @Modifying
+    @Query("UPDATE ProgressLog pl SET pl.workoutDay = NULL WHERE pl.workoutDay.id IN :workoutDayIds")
+    int detachWorkoutDays(@Param("workoutDayIds") Collection<Long> workoutDayIds);
 }
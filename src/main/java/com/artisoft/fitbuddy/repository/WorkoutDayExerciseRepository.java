@@ -2,9 +2,11 @@ package com.artisoft.fitbuddy.repository;
 
 import com.artisoft.fitbuddy.model.WorkoutDayExercise;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface WorkoutDayExerciseRepository extends JpaRepository<WorkoutDayExercise, Long> {
@@ -15,9 +17,24 @@ public interface WorkoutDayExerciseRepository extends JpaRepository<WorkoutDayEx
 
     void deleteByWorkoutDayId(Long workoutDayId);
 
+    @Modifying
+    @Query("DELETE FROM WorkoutDayExercise wde WHERE wde.exercise.id IN :exerciseIds")
+    int deleteByExerciseIdIn(@Param("exerciseIds") Collection<Long> exerciseIds);
+
     @Query("SELECT wde FROM WorkoutDayExercise wde " +
             "LEFT JOIN FETCH wde.workoutDay wd " +
             "LEFT JOIN FETCH wd.workoutProgram wp " +
             "WHERE wde.exercise.id = :exerciseId")
     List<WorkoutDayExercise> findByExerciseId(@Param("exerciseId") Long exerciseId);
+
+    @Query("SELECT wde FROM WorkoutDayExercise wde " +
+            "JOIN FETCH wde.workoutDay wd " +
+            "JOIN FETCH wde.exercise " +
+            "WHERE wde.id IN :ids")
+    List<WorkoutDayExercise> findAllWithDayAndExerciseByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT wde FROM WorkoutDayExercise wde " +
+            "JOIN FETCH wde.exercise " +
+            "WHERE wde.workoutDay.id IN :workoutDayIds")
+    List<WorkoutDayExercise> findAllWithExerciseByWorkoutDayIdIn(@Param("workoutDayIds") Collection<Long> workoutDayIds);
 }
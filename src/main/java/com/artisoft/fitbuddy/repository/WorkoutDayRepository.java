@@ -3,8 +3,11 @@ package com.artisoft.fitbuddy.repository;
 import com.artisoft.fitbuddy.model.WorkoutDay;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface WorkoutDayRepository extends JpaRepository<WorkoutDay, Long> {
     List<WorkoutDay> findByWorkoutProgramId(Long programId);
+
+    List<WorkoutDay> findByWorkoutProgramIdIn(Collection<Long> programIds);
 }
@@ -2,27 +2,44 @@ package com.artisoft.fitbuddy.repository;
 
 import com.artisoft.fitbuddy.model.WorkoutProgram;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface WorkoutProgramRepository extends JpaRepository<WorkoutProgram, Long> {
     List<WorkoutProgram> findByUserId(Long userId);
 
-    @Query("SELECT wp, MAX(pl.date) as lastLogDate " +
-            "FROM WorkoutProgram wp " +
-            "JOIN ProgressLog pl ON pl.workoutProgram = wp " +
-            "WHERE wp.user.id = :userId " +
-            "GROUP BY wp " +
-            "ORDER BY lastLogDate DESC")
-    List<Object[]> findProgramsWithLastLogDate(@Param("userId") Long userId);
+    @Query("SELECT wp FROM WorkoutProgram wp " +
+            "WHERE wp.user.id = :userId AND wp.lastLogDate IS NOT NULL " +
+            "ORDER BY wp.lastLogDate DESC")
+    List<WorkoutProgram> findProgramsWithLogs(@Param("userId") Long userId);
 
     @Query("SELECT wp FROM WorkoutProgram wp " +
-            "WHERE wp.user.id = :userId " +
-            "AND NOT EXISTS (" +
-            "    SELECT 1 FROM ProgressLog pl " +
-            "    WHERE pl.workoutProgram = wp" +
-            ")")
+            "WHERE wp.user.id = :userId AND wp.lastLogDate IS NULL")
     List<WorkoutProgram> findProgramsWithoutLogs(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE WorkoutProgram wp SET wp.logCount = wp.logCount + :count, " +
+            "wp.lastLogDate = CASE WHEN wp.lastLogDate IS NULL OR wp.lastLogDate < :date THEN :date " +
+            "ELSE wp.lastLogDate END " +
+            "WHERE wp.id = :programId")
+    int recordLogs(@Param("programId") Long programId, @Param("count") int count, @Param("date") LocalDate date);
+
+    // Recomputes from progress_logs; callers must have flushed their log changes
+    @Modifying
+    @Query("UPDATE WorkoutProgram wp SET " +
+            "wp.lastLogDate = (SELECT MAX(pl.date) FROM ProgressLog pl WHERE pl.workoutProgram.id = wp.id), " +
+            "wp.logCount = (SELECT CAST(COUNT(pl) AS Integer) FROM ProgressLog pl WHERE pl.workoutProgram.id = wp.id) " +
+            "WHERE wp.id IN :programIds")
+    int refreshActivity(@Param("programIds") Collection<Long> programIds);
+
+    @Query("SELECT wp.id FROM WorkoutProgram wp " +
+            "LEFT JOIN ProgressLog pl ON pl.workoutProgram = wp " +
+            "GROUP BY wp.id, wp.logCount, wp.lastLogDate " +
+            "HAVING wp.logCount <> COUNT(pl) OR wp.lastLogDate IS DISTINCT FROM MAX(pl.date)")
+    List<Long> findIdsWithStaleActivity();
 }
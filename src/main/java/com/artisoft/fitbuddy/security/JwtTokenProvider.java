@@ -1,25 +1,74 @@
 package com.artisoft.fitbuddy.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
 
     private final Key key;
     private final int jwtExpirationInMs;
+    // JwtParser is immutable and thread-safe once built
+    private final JwtParser jwtParser;
+    // Recently verified tokens, each kept only until its own expiry
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
+    @Autowired
     public JwtTokenProvider(
             @Value("${app.jwtSecret}") String jwtSecret,
-            @Value("${app.jwtExpirationInMs}") int jwtExpirationInMs) {
+            @Value("${app.jwtExpirationInMs}") int jwtExpirationInMs,
+            @Value("${app.verifiedTokenCacheMaxSize:10000}") long verifiedTokenCacheMaxSize) {
+        this(jwtSecret, jwtExpirationInMs, verifiedTokenCacheMaxSize, Ticker.systemTicker());
+    }
+
+    JwtTokenProvider(String jwtSecret, int jwtExpirationInMs, long verifiedTokenCacheMaxSize, Ticker ticker) {
+        // Caffeine passes expiry callbacks its ticker's time; anchor that to the wall clock once so each
+        // token's expiresAt converts to a remaining duration on the same ticker
+        long tickerOrigin = ticker.read();
+        Instant clockOrigin = Instant.now();
+
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         this.jwtExpirationInMs = jwtExpirationInMs;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                        Instant now = clockOrigin.plusNanos(currentTime - tickerOrigin);
+                        return Math.max(0, Duration.between(now, verified.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, VerifiedToken verified,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(token, verified, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, VerifiedToken verified,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .build();
     }
 
     public String generateToken(String username) {
@@ -34,38 +83,61 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token signature and expiry once and returns its claims.
+     * Tokens verified earlier are served from cache until they expire.
+     */
+    public Optional<VerifiedToken> parseAndValidate(String authToken) {
+        if (authToken == null || authToken.isBlank()) {
+            return Optional.empty();
+        }
 
-        return claims.getSubject();
-    }
+        VerifiedToken cached = verifiedTokens.getIfPresent(authToken);
+        if (cached != null) {
+            if (!cached.isExpired(Instant.now())) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(authToken);
+        }
 
-    public boolean validateToken(String authToken) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+            // Tokens without an expiry are never cached, so they are always re-verified
+            if (verified.expiresAt() != null) {
+                verifiedTokens.put(authToken, verified);
+            }
+            return Optional.of(verified);
         } catch (SignatureException ex) {
             // log error
-            return false;
+            return Optional.empty();
         } catch (MalformedJwtException ex) {
             // log error
-            return false;
+            return Optional.empty();
         } catch (ExpiredJwtException ex) {
             // log error
-            return false;
+            return Optional.empty();
         } catch (UnsupportedJwtException ex) {
             // log error
-            return false;
+            return Optional.empty();
         } catch (IllegalArgumentException ex) {
             // log error
-            return false;
+            return Optional.empty();
+        } catch (JwtException ex) {
+            // e.g. a token signed with an algorithm our key is too weak for
+            return Optional.empty();
         }
     }
+
+    public String getUsernameFromJWT(String token) {
+        return parseAndValidate(token)
+                .map(VerifiedToken::subject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseAndValidate(authToken).isPresent();
+    }
 }
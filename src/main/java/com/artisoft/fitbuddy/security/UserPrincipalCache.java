@@ -0,0 +1,78 @@
+package com.artisoft.fitbuddy.security;
+
+import com.artisoft.fitbuddy.cache.AsyncCaches;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by username.
+ * <p>
+ * Entries are stored as immutable snapshots and a fresh {@link UserDetails} is built on every read,
+ * so Spring Security erasing credentials on one instance never corrupts the cached copy.
+ * <p>
+ * A miss is loaded on the calling thread outside the cache's locks, so the database lookup never pins
+ * a virtual thread's carrier; concurrent misses for the same user wait for that one load.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final AsyncCache<String, PrincipalSnapshot> cache;
+
+    public UserPrincipalCache(
+            @Value("${app.principalCacheMaxSize:10000}") long maxSize,
+            @Value("${app.principalCacheTtlInMs:300000}") long ttlInMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlInMs))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return AsyncCaches.getOrLoad(cache, username, key -> PrincipalSnapshot.of(loader.apply(key))).toUserDetails();
+    }
+
+    public void invalidate(String username) {
+        cache.synchronous().invalidate(username);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public long hitCount() {
+        return stats().hitCount();
+    }
+
+    public long missCount() {
+        return stats().missCount();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private record PrincipalSnapshot(String username, String password,
+                                     List<GrantedAuthority> authorities) {
+
+        static PrincipalSnapshot of(UserDetails userDetails) {
+            Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
+            return new PrincipalSnapshot(userDetails.getUsername(), userDetails.getPassword(), List.copyOf(authorities));
+        }
+
+        UserDetails toUserDetails() {
+            return new User(username, password, authorities);
+        }
+    }
+}
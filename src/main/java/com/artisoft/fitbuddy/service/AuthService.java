@@ -1,11 +1,13 @@
 package com.artisoft.fitbuddy.service;
 
 import com.artisoft.fitbuddy.security.JwtTokenProvider;
+import com.artisoft.fitbuddy.security.UserPrincipalCache;
 import com.artisoft.fitbuddy.dto.AuthResponse;
 import com.artisoft.fitbuddy.dto.LoginRequest;
 import com.artisoft.fitbuddy.dto.SignUpRequest;
 import com.artisoft.fitbuddy.model.User;
 import com.artisoft.fitbuddy.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,11 +18,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "fitbuddy.service", histogram = true)
 public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final UserPrincipalCache principalCache;
 
     @Transactional
     public AuthResponse signUp(SignUpRequest request) {
@@ -38,6 +42,7 @@ public class AuthService {
         user.setRole("ROLE_USER");
 
         user = userRepository.save(user);
+        evictPrincipal(user.getUsername());
         String token = tokenProvider.generateToken(user.getUsername());
 
         return new AuthResponse(token, user.getUsername(), user.getRole());
@@ -54,4 +59,8 @@ public class AuthService {
         String token = tokenProvider.generateToken(authentication.getName());
         return new AuthResponse(token, user.getUsername(), user.getRole());
     }
+
+    private void evictPrincipal(String username) {
+        TransactionHooks.evictNowAndAfterCommit(() -> principalCache.invalidate(username));
+    }
 }
@@ -0,0 +1,162 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.cache.AsyncCaches;
+import com.artisoft.fitbuddy.dto.ExerciseDto;
+import com.artisoft.fitbuddy.dto.ExerciseSearchCriteria.SortOrder;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the exercise catalog as {@link ExerciseDto} projections, by id and as the full list.
+ * <p>
+ * DTOs are cached rather than entities so nothing detached or lazy leaks across transactions, and every
+ * read returns copies so callers cannot alter the cached state. {@link ExerciseService} invalidates on
+ * writes; the TTL bounds staleness from writes that bypass it, such as other application instances.
+ * The full list is kept sorted in every listing order so a page is a binary search and a sublist.
+ * <p>
+ * Misses are loaded on the calling thread outside the caches' locks, so database loads never pin a virtual
+ * thread's carrier; concurrent misses for the same key wait for that one load.
+ */
+@Component
+public class ExerciseCatalogCache {
+    private static final String CATALOG_KEY = "all";
+
+    private final AsyncCache<Long, ExerciseDto> exercisesById;
+    private final AsyncCache<String, Catalog> catalog;
+    private final boolean warmOnStartup;
+
+    public ExerciseCatalogCache(
+            @Value("${app.exerciseCacheMaxSize:10000}") long maxSize,
+            @Value("${app.exerciseCacheTtlInMs:3600000}") long ttlInMs,
+            @Value("${app.exerciseCacheWarmOnStartup:false}") boolean warmOnStartup) {
+        this.exercisesById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlInMs))
+                .recordStats()
+                .buildAsync();
+        this.catalog = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofMillis(ttlInMs))
+                .recordStats()
+                .buildAsync();
+        this.warmOnStartup = warmOnStartup;
+    }
+
+    /**
+     * Returns the exercise, calling {@code loader} on a miss. A loader result of {@code null} is not cached.
+     */
+    public Optional<ExerciseDto> get(Long id, Function<Long, ExerciseDto> loader) {
+        return Optional.ofNullable(AsyncCaches.getOrLoad(exercisesById, id, loader)).map(ExerciseCatalogCache::copyOf);
+    }
+
+    /**
+     * Returns up to {@code count} exercises that come after {@code after} in {@code sort} order, or from the
+     * start when {@code after} is {@code null}. {@code after} only needs the fields the order compares.
+     */
+    public List<ExerciseDto> getSlice(Supplier<List<ExerciseDto>> loader, SortOrder sort, ExerciseDto after, int count) {
+        List<ExerciseDto> sorted = loadCatalog(loader).sortedBy(sort);
+        int from = 0;
+        if (after != null) {
+            int position = Collections.binarySearch(sorted, after, ordering(sort));
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        return sorted.subList(from, Math.min(sorted.size(), from + count)).stream()
+                .map(ExerciseCatalogCache::copyOf)
+                .toList();
+    }
+
+    public void putAll(List<ExerciseDto> exercises) {
+        Catalog snapshot = Catalog.of(exercises.stream().map(ExerciseCatalogCache::copyOf).toList());
+        snapshot.byId().forEach(dto -> exercisesById.synchronous().put(dto.getId(), dto));
+        catalog.synchronous().put(CATALOG_KEY, snapshot);
+    }
+
+    private Catalog loadCatalog(Supplier<List<ExerciseDto>> loader) {
+        return AsyncCaches.getOrLoad(catalog, CATALOG_KEY, key -> {
+            Catalog loaded = Catalog.of(loader.get());
+            loaded.byId().forEach(dto -> exercisesById.synchronous().put(dto.getId(), dto));
+            return loaded;
+        });
+    }
+
+    // Any change to one exercise also changes the full list
+    public void invalidate(Long id) {
+        exercisesById.synchronous().invalidate(id);
+        catalog.synchronous().invalidateAll();
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        exercisesById.synchronous().invalidateAll(ids);
+        catalog.synchronous().invalidateAll();
+    }
+
+    public void invalidateCatalog() {
+        catalog.synchronous().invalidateAll();
+    }
+
+    public void invalidateAll() {
+        exercisesById.synchronous().invalidateAll();
+        catalog.synchronous().invalidateAll();
+    }
+
+    public boolean isWarmOnStartup() {
+        return warmOnStartup;
+    }
+
+    public CacheStats stats() {
+        return exercisesById.synchronous().stats();
+    }
+
+    public CacheStats catalogStats() {
+        return catalog.synchronous().stats();
+    }
+
+    public long size() {
+        return exercisesById.synchronous().estimatedSize();
+    }
+
+    // Must match the ORDER BY of the standalone listing queries in ExerciseRepository
+    static Comparator<ExerciseDto> ordering(SortOrder sort) {
+        Comparator<ExerciseDto> byId = Comparator.comparing(ExerciseDto::getId);
+        return sort == SortOrder.ID
+                ? byId
+                : Comparator.comparing(ExerciseDto::getName, String.CASE_INSENSITIVE_ORDER).thenComparing(byId);
+    }
+
+    static ExerciseDto copyOf(ExerciseDto source) {
+        ExerciseDto dto = new ExerciseDto();
+        dto.setId(source.getId());
+        dto.setName(source.getName());
+        dto.setDescription(source.getDescription());
+        dto.setDefaultSets(source.getDefaultSets());
+        dto.setDefaultRepsPerSet(source.getDefaultRepsPerSet());
+        dto.setDefaultRestPeriodBetweenSets(source.getDefaultRestPeriodBetweenSets());
+        dto.setMediaLink(source.getMediaLink());
+        return dto;
+    }
+
+    private record Catalog(List<ExerciseDto> byName, List<ExerciseDto> byId) {
+
+        static Catalog of(List<ExerciseDto> exercises) {
+            return new Catalog(
+                    exercises.stream().sorted(ordering(SortOrder.NAME)).toList(),
+                    exercises.stream().sorted(ordering(SortOrder.ID)).toList());
+        }
+
+        List<ExerciseDto> sortedBy(SortOrder sort) {
+            return sort == SortOrder.ID ? byId : byName;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseSearchCriteria.SortOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in an exercise listing, ordered by {@code name, id} or by {@code id} alone.
+ * The sort order is part of the token so a cursor cannot be replayed against a different ordering.
+ */
+record ExerciseCursor(SortOrder sort, Long id, String name) {
+
+    String encode() {
+        String raw = sort + "|" + id + "|" + (name == null ? "" : name);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ExerciseCursor decode(String cursor, SortOrder expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The name goes last since it may itself contain the separator
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(expectedSort.name())) {
+                throw new IllegalArgumentException("Cursor does not match the sort order");
+            }
+            return new ExerciseCursor(expectedSort, Long.parseLong(parts[1]),
+                    expectedSort == SortOrder.NAME ? parts[2] : null);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
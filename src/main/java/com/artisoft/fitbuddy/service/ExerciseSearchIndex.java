@@ -0,0 +1,329 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over exercise names and descriptions for search-as-you-type.
+ * <p>
+ * Text is lower-cased, stripped of accents and split into words. Every word is indexed by its trigrams,
+ * padded at the start so one- and two-letter prefixes find candidates too. Candidates are then ranked
+ * per query word: exact word, word prefix, substring, then a small edit distance for typos, with name
+ * matches weighted above description matches. Every query word has to match something.
+ * <p>
+ * Reads are lock-free; writes are serialized and only run after the owning transaction commits.
+ * With {@code app.exerciseSearchInMemory=false} the index stays empty and never becomes ready, leaving
+ * search to the database's trigram index.
+ */
+@Component
+public class ExerciseSearchIndex {
+    private static final double DESCRIPTION_WEIGHT = 0.4;
+    private static final double NAME_PREFIX_BONUS = 0.5;
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final Map<Long, IndexedExercise> exercises = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private volatile boolean ready;
+
+    public ExerciseSearchIndex(@Value("${app.exerciseSearchInMemory:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public synchronized void rebuild(Collection<ExerciseDto> catalog) {
+        if (!enabled) {
+            return;
+        }
+        exercises.clear();
+        postings.clear();
+        catalog.forEach(this::index);
+        ready = true;
+    }
+
+    public synchronized void put(ExerciseDto exercise) {
+        if (!enabled) {
+            return;
+        }
+        remove(exercise.getId());
+        index(exercise);
+    }
+
+    public synchronized void remove(Long id) {
+        IndexedExercise removed = exercises.remove(id);
+        if (removed == null) {
+            return;
+        }
+        for (String gram : removed.grams()) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    // False until the first rebuild, so callers can fall back to the database during startup
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return exercises.size();
+    }
+
+    /**
+     * Returns up to {@code limit} exercises ranked by relevance, best first.
+     */
+    public List<ExerciseDto> search(String query, int limit) {
+        List<String> queryWords = words(query);
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+
+        List<ExerciseDto> results = search(queryWords, limit, false);
+        // Typo-tolerant matching is only worth its cost when exact matching comes up short
+        return results.size() < limit ? search(queryWords, limit, true) : results;
+    }
+
+    private List<ExerciseDto> search(List<String> queryWords, int limit, boolean tolerateTypos) {
+        // Every word has to match, so narrow down word by word
+        Set<Long> candidates = null;
+        for (String word : queryWords) {
+            Set<Long> wordCandidates = candidates(word, tolerateTypos);
+            if (candidates == null) {
+                candidates = wordCandidates;
+            } else {
+                candidates.retainAll(wordCandidates);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        String normalizedQuery = String.join(" ", queryWords);
+        // Min-heap of the best matches so far; the weakest is evicted first
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1);
+        for (Long id : candidates) {
+            IndexedExercise exercise = exercises.get(id);
+            if (exercise == null) {
+                continue;
+            }
+            double score = score(exercise, queryWords);
+            if (score > 0) {
+                if (exercise.normalizedName().startsWith(normalizedQuery)) {
+                    score += NAME_PREFIX_BONUS;
+                }
+                best.add(new Match(exercise, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<ExerciseDto> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(ExerciseCatalogCache.copyOf(best.poll().exercise().exercise()));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Exercises that may match {@code word}: those holding all of its trigrams (a prefix or substring
+     * match), plus, when tolerating typos, those sharing enough trigrams to be within the edit distance.
+     * One edit changes at most three trigrams.
+     */
+    private Set<Long> candidates(String word, boolean tolerateTypos) {
+        Set<Long> candidates = containingAll(word.length() < 3 ? queryGrams(word) : grams(word));
+
+        int typos = allowedTypos(word);
+        if (tolerateTypos && typos > 0) {
+            Set<String> grams = queryGrams(word);
+            int minHits = Math.max(1, grams.size() - 3 * typos);
+            Map<Long, Integer> hits = new HashMap<>();
+            for (String gram : grams) {
+                for (Long id : postings.getOrDefault(gram, Set.of())) {
+                    hits.merge(id, 1, Integer::sum);
+                }
+            }
+            hits.forEach((id, count) -> {
+                if (count >= minHits) {
+                    candidates.add(id);
+                }
+            });
+        }
+        return candidates;
+    }
+
+    private Set<Long> containingAll(Set<String> grams) {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return new HashSet<>();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void index(ExerciseDto exercise) {
+        List<String> nameWords = words(exercise.getName());
+        List<String> descriptionWords = words(exercise.getDescription());
+        Set<String> grams = new HashSet<>();
+        nameWords.forEach(word -> grams.addAll(indexGrams(word)));
+        descriptionWords.forEach(word -> grams.addAll(indexGrams(word)));
+
+        exercises.put(exercise.getId(), new IndexedExercise(ExerciseCatalogCache.copyOf(exercise), String.join(" ", nameWords),
+                nameWords, descriptionWords, grams));
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(exercise.getId());
+        }
+    }
+
+    // Every query word must match; a word scores its best match in the name, or a weaker one in the description
+    private static double score(IndexedExercise exercise, List<String> queryWords) {
+        double total = 0;
+        for (String queryWord : queryWords) {
+            double best = 0;
+            for (String word : exercise.nameWords()) {
+                best = Math.max(best, wordScore(queryWord, word));
+            }
+            // A description match can never beat a name match of at least the same weight
+            if (best < DESCRIPTION_WEIGHT) {
+                for (String word : exercise.descriptionWords()) {
+                    best = Math.max(best, DESCRIPTION_WEIGHT * wordScore(queryWord, word));
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    static double wordScore(String query, String word) {
+        if (word.equals(query)) {
+            return 1.0;
+        }
+        if (word.startsWith(query)) {
+            return 0.9;
+        }
+        if (word.contains(query)) {
+            return 0.6;
+        }
+
+        int allowedTypos = allowedTypos(query);
+        if (allowedTypos == 0) {
+            return 0;
+        }
+        // Compare against the whole word and against its prefix, since the user may still be typing
+        int distance = Math.abs(word.length() - query.length()) <= allowedTypos
+                ? editDistance(query, word, allowedTypos)
+                : Integer.MAX_VALUE;
+        if (word.length() > query.length() && distance > 1) {
+            distance = Math.min(distance, editDistance(query, word.substring(0, query.length()), allowedTypos));
+        }
+        return distance <= allowedTypos ? 0.5 - 0.1 * (distance - 1) : 0;
+    }
+
+    private static int allowedTypos(String word) {
+        return word.length() <= 3 ? 0 : word.length() <= 6 ? 1 : 2;
+    }
+
+    // Optimal string alignment distance, so a swapped pair of letters costs one edit.
+    // Gives up with Integer.MAX_VALUE as soon as every alignment needs more than maxDistance edits.
+    static int editDistance(String a, String b, int maxDistance) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previous2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return Integer.MAX_VALUE;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()] <= maxDistance ? previous[b.length()] : Integer.MAX_VALUE;
+    }
+
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = NON_ALPHANUMERIC.matcher(
+                        ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                                .toLowerCase(Locale.ROOT))
+                .replaceAll(" ")
+                .trim();
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+
+    private static Set<String> indexGrams(String word) {
+        return grams("$$" + word + "$");
+    }
+
+    // No end padding: the query word may be an unfinished prefix
+    private static Set<String> queryGrams(String word) {
+        return grams("$$" + word);
+    }
+
+    private static Set<String> grams(String padded) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private record IndexedExercise(ExerciseDto exercise, String normalizedName, List<String> nameWords,
+                                   List<String> descriptionWords, Set<String> grams) {
+    }
+
+    // Natural order is weakest first: lower score, then longer name, then later in the alphabet
+    private record Match(IndexedExercise exercise, double score) implements Comparable<Match> {
+        @Override
+        public int compareTo(Match other) {
+            int byScore = Double.compare(score, other.score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byLength = Integer.compare(other.exercise.normalizedName().length(), exercise.normalizedName().length());
+            if (byLength != 0) {
+                return byLength;
+            }
+            return other.exercise.normalizedName().compareTo(exercise.normalizedName());
+        }
+    }
+}
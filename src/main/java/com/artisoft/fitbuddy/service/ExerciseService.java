@@ -1,30 +1,52 @@
 package com.artisoft.fitbuddy.service;
 
+import com.artisoft.fitbuddy.dto.CursorPage;
+import com.artisoft.fitbuddy.dto.ExerciseDeleteReport;
 import com.artisoft.fitbuddy.dto.ExerciseDto;
 import com.artisoft.fitbuddy.dto.ExerciseSearchCriteria;
+import com.artisoft.fitbuddy.dto.ExerciseSearchCriteria.SortOrder;
 import com.artisoft.fitbuddy.dto.ExerciseUsageDto;
+import com.artisoft.fitbuddy.dto.ExerciseUsageRow;
 import com.artisoft.fitbuddy.model.Exercise;
-import com.artisoft.fitbuddy.model.WorkoutDay;
-import com.artisoft.fitbuddy.model.WorkoutDayExercise;
-import com.artisoft.fitbuddy.model.WorkoutProgram;
+import com.artisoft.fitbuddy.repository.ExerciseProgressRepository;
 import com.artisoft.fitbuddy.repository.ExerciseRepository;
+import com.artisoft.fitbuddy.repository.ExerciseStatsRepository;
+import com.artisoft.fitbuddy.repository.ExerciseVolumeRollupRepository;
 import com.artisoft.fitbuddy.repository.UserRepository;
 import com.artisoft.fitbuddy.repository.WorkoutDayExerciseRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "fitbuddy.service", histogram = true)
 public class ExerciseService {
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 100;
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
     private final ExerciseRepository exerciseRepository;
     private final WorkoutDayExerciseRepository workoutDayExerciseRepository;
+    private final ExerciseProgressRepository exerciseProgressRepository;
+    private final ExerciseStatsRepository exerciseStatsRepository;
+    private final ExerciseVolumeRollupRepository volumeRollupRepository;
     private final UserRepository userRepository;
+    private final ExerciseCatalogCache catalogCache;
+    private final ExerciseSearchIndex searchIndex;
 
     @Transactional
     public ExerciseDto createExercise(ExerciseDto dto, String username) {
@@ -35,7 +57,10 @@ public class ExerciseService {
         Exercise exercise = new Exercise();
         updateExerciseFromDto(exercise, dto);
         exercise = exerciseRepository.save(exercise);
-        return convertToDto(exercise);
+        ExerciseDto saved = convertToDto(exercise);
+        evictCatalog(null);
+        TransactionHooks.afterCommit(() -> searchIndex.put(saved));
+        return saved;
     }
 
     @Transactional
@@ -43,102 +68,205 @@ public class ExerciseService {
         Exercise exercise = exerciseRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Exercise not found"));
 
-        // If exercise is used in any workout, verify user has access
-        if (!exercise.getWorkoutDayExercises().isEmpty() &&
-                exercise.getWorkoutDayExercises().stream()
-                        .anyMatch(wde -> !wde.getWorkoutDay().getWorkoutProgram().getUser().getUsername().equals(username))) {
+        // If exercise is used in another user's workout, deny access
+        if (exerciseRepository.isUsedByOtherUsers(id, username)) {
             throw new IllegalArgumentException("Access denied");
         }
 
         updateExerciseFromDto(exercise, dto);
         exercise = exerciseRepository.save(exercise);
-        return convertToDto(exercise);
+        ExerciseDto saved = convertToDto(exercise);
+        evictCatalog(id);
+        TransactionHooks.afterCommit(() -> searchIndex.put(saved));
+        return saved;
     }
 
     @Transactional
     public void deleteExercise(Long id, String username) {
-        Exercise exercise = exerciseRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Exercise not found"));
-
-        List<WorkoutDayExercise> usages = workoutDayExerciseRepository.findByExerciseId(id);
-        workoutDayExerciseRepository.deleteAll(usages);
-        exerciseRepository.delete(exercise);
+        if (!exerciseRepository.existsById(id)) {
+            throw new IllegalArgumentException("Exercise not found");
+        }
+        deleteInBulk(List.of(id), username);
     }
 
     @Transactional
-    public void deleteExercises(List<Long> ids, String username) {
-        ids.forEach(id -> deleteExercise(id, username));
+    public ExerciseDeleteReport deleteExercises(List<Long> ids, String username) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Set<Long> existingIds = new HashSet<>(exerciseRepository.findExistingIds(uniqueIds));
+        List<Long> missingIds = uniqueIds.stream()
+                .filter(id -> !existingIds.contains(id))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            throw new IllegalArgumentException("Exercises not found: " + missingIds);
+        }
+        return deleteInBulk(uniqueIds, username);
+    }
+
+    /**
+     * Deletes the exercises and everything pointing at them with a fixed number of set-based statements,
+     * however many ids there are. Logged progress is kept and detached; per-exercise stats and rollups go.
+     * Exercises that other users plan or have logged are not the caller's to delete.
+     */
+    private ExerciseDeleteReport deleteInBulk(Collection<Long> ids, String username) {
+        if (exerciseRepository.isAnyUsedByOtherUsers(ids, username)
+                || exerciseProgressRepository.isAnyLoggedByOtherUsers(ids, username)) {
+            throw new IllegalArgumentException("Access denied");
+        }
+
+        int detachedProgressEntries = exerciseProgressRepository.detachReplacementExercises(ids)
+                + exerciseProgressRepository.detachPlannedExercises(ids);
+        exerciseStatsRepository.deleteByExerciseIdIn(ids);
+        volumeRollupRepository.deleteByExerciseIdIn(ids);
+        int deletedPlannedExercises = workoutDayExerciseRepository.deleteByExerciseIdIn(ids);
+        int deletedExercises = exerciseRepository.deleteByIdIn(ids);
+
+        List<Long> deletedIds = List.copyOf(ids);
+        catalogCache.invalidateAll(deletedIds);
+        TransactionHooks.afterCommit(() -> {
+            catalogCache.invalidateAll(deletedIds);
+            deletedIds.forEach(searchIndex::remove);
+        });
+        return new ExerciseDeleteReport(deletedExercises, deletedPlannedExercises, detachedProgressEntries);
     }
 
     @Transactional(readOnly = true)
     public ExerciseDto getExercise(Long id, String username) {
-        Exercise exercise = exerciseRepository.findById(id)
+        return catalogCache.get(id, key -> exerciseRepository.findById(key).map(this::convertToDto).orElse(null))
                 .orElseThrow(() -> new IllegalArgumentException("Exercise not found"));
-
-        return convertToDto(exercise);
     }
 
     @Transactional(readOnly = true)
     public ExerciseUsageDto getExerciseUsage(Long id, String username) {
-        Exercise exercise = exerciseRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Exercise not found"));
+        List<ExerciseUsageDto> usages = toUsageDtos(exerciseRepository.findUsageRowsByIdIn(List.of(id)));
+        if (usages.isEmpty()) {
+            throw new IllegalArgumentException("Exercise not found");
+        }
+        return usages.get(0);
+    }
 
-        List<WorkoutDayExercise> usages = workoutDayExerciseRepository.findByExerciseId(id);
-
-        Map<WorkoutProgram, List<WorkoutDay>> programDays = usages.stream()
-                .collect(Collectors.groupingBy(
-                        wde -> wde.getWorkoutDay().getWorkoutProgram(),
-                        Collectors.mapping(
-                                WorkoutDayExercise::getWorkoutDay,
-                                Collectors.toList()
-                        )
-                ));
-
-        ExerciseUsageDto usageDto = new ExerciseUsageDto();
-        usageDto.setExerciseId(exercise.getId());
-        usageDto.setExerciseName(exercise.getName());
-
-        List<ExerciseUsageDto.WorkoutProgramUsageDto> programUsages = new ArrayList<>();
-
-        programDays.forEach((program, days) -> {
-            ExerciseUsageDto.WorkoutProgramUsageDto programUsage =
-                    new ExerciseUsageDto.WorkoutProgramUsageDto();
-            programUsage.setProgramId(program.getId());
-            programUsage.setProgramName(program.getName());
-
-            List<ExerciseUsageDto.WorkoutDayUsageDto> dayUsages = days.stream()
-                    .map(day -> {
-                        ExerciseUsageDto.WorkoutDayUsageDto dayUsage =
-                                new ExerciseUsageDto.WorkoutDayUsageDto();
-                        dayUsage.setDayId(day.getId());
-                        dayUsage.setDayOfWeek(day.getDayOfWeek().name());
-                        return dayUsage;
-                    })
-                    .collect(Collectors.toList());
-
-            programUsage.setDays(dayUsages);
-            programUsages.add(programUsage);
-        });
+    @Transactional(readOnly = true)
+    public List<ExerciseUsageDto> getExerciseUsages(List<Long> ids, String username) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        List<ExerciseUsageDto> usages = toUsageDtos(exerciseRepository.findUsageRowsByIdIn(uniqueIds));
+        if (usages.size() < uniqueIds.size()) {
+            Set<Long> foundIds = usages.stream().map(ExerciseUsageDto::getExerciseId).collect(Collectors.toSet());
+            List<Long> missingIds = uniqueIds.stream().filter(id -> !foundIds.contains(id)).toList();
+            throw new IllegalArgumentException("Exercises not found: " + missingIds);
+        }
+        return usages;
+    }
 
-        usageDto.setPrograms(programUsages);
-        return usageDto;
+    // Rows arrive ordered by exercise, program and day, so each level starts where its id changes
+    private static List<ExerciseUsageDto> toUsageDtos(List<ExerciseUsageRow> rows) {
+        List<ExerciseUsageDto> usages = new ArrayList<>();
+        ExerciseUsageDto usage = null;
+        ExerciseUsageDto.WorkoutProgramUsageDto programUsage = null;
+        Long lastDayId = null;
+        for (ExerciseUsageRow row : rows) {
+            if (usage == null || !usage.getExerciseId().equals(row.getExerciseId())) {
+                usage = new ExerciseUsageDto();
+                usage.setExerciseId(row.getExerciseId());
+                usage.setExerciseName(row.getExerciseName());
+                usage.setPrograms(new ArrayList<>());
+                usages.add(usage);
+                programUsage = null;
+                lastDayId = null;
+            }
+            if (row.getProgramId() == null || row.getDayId().equals(lastDayId)) {
+                continue;
+            }
+            lastDayId = row.getDayId();
+            if (programUsage == null || !programUsage.getProgramId().equals(row.getProgramId())) {
+                programUsage = new ExerciseUsageDto.WorkoutProgramUsageDto();
+                programUsage.setProgramId(row.getProgramId());
+                programUsage.setProgramName(row.getProgramName());
+                programUsage.setDays(new ArrayList<>());
+                usage.getPrograms().add(programUsage);
+            }
+            ExerciseUsageDto.WorkoutDayUsageDto dayUsage = new ExerciseUsageDto.WorkoutDayUsageDto();
+            dayUsage.setDayId(row.getDayId());
+            dayUsage.setDayOfWeek(row.getDayOfWeek());
+            programUsage.getDays().add(dayUsage);
+        }
+        return usages;
     }
 
     @Transactional(readOnly = true)
-    public List<ExerciseDto> searchExercises(ExerciseSearchCriteria criteria, String username) {
-        List<Exercise> exercises;
+    public CursorPage<ExerciseDto> searchExercises(ExerciseSearchCriteria criteria, String username) {
+        boolean standaloneOnly = Boolean.TRUE.equals(criteria.getStandaloneOnly());
+        if (criteria.getName() == null || criteria.getName().isEmpty()) {
+            return listExercises(criteria, standaloneOnly);
+        }
 
-        if (criteria.getName() != null && !criteria.getName().isEmpty()) {
-            exercises = exerciseRepository.findByNameContainingIgnoreCase(criteria.getName());
-        } else {
-            exercises = exerciseRepository.findAll();
+        // Ranked matches are a single page, capped by the limit
+        return new CursorPage<>(searchByName(criteria.getName(), resolveSearchLimit(criteria.getLimit()), standaloneOnly), null);
+    }
+
+    private List<ExerciseDto> searchByName(String name, int limit, boolean standaloneOnly) {
+        // The in-memory index does not know which exercises are planned, so standalone searches filter in SQL
+        if (searchIndex.isReady() && !standaloneOnly) {
+            return searchIndex.search(name, limit);
         }
 
+        String query = name.trim();
+        return exerciseRepository.searchByNameSimilarity(query, escapeLike(query), standaloneOnly, limit).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    private CursorPage<ExerciseDto> listExercises(ExerciseSearchCriteria criteria, boolean standaloneOnly) {
+        SortOrder sort = criteria.getSort() == null ? SortOrder.NAME : criteria.getSort();
+        int pageSize = resolvePageSize(criteria.getSize());
+        ExerciseCursor after = criteria.getCursor() == null || criteria.getCursor().isEmpty()
+                ? null
+                : ExerciseCursor.decode(criteria.getCursor(), sort);
+
+        // Fetch one extra row to learn whether another page exists
+        List<ExerciseDto> rows = standaloneOnly
+                ? findStandaloneExercises(sort, after, Limit.of(pageSize + 1))
+                : catalogCache.getSlice(this::findAllExercises, sort, after == null ? null : keyOf(after), pageSize + 1);
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<ExerciseDto> items = new ArrayList<>(rows.subList(0, pageSize));
+        ExerciseDto last = items.get(pageSize - 1);
+        return new CursorPage<>(items, new ExerciseCursor(sort, last.getId(), last.getName()).encode());
+    }
+
+    private List<ExerciseDto> findStandaloneExercises(SortOrder sort, ExerciseCursor after, Limit limit) {
+        List<Exercise> exercises;
+        if (sort == SortOrder.ID) {
+            exercises = after == null
+                    ? exerciseRepository.findStandaloneOrderById(limit)
+                    : exerciseRepository.findStandaloneOrderByIdAfter(after.id(), limit);
+        } else {
+            exercises = after == null
+                    ? exerciseRepository.findStandaloneOrderByName(limit)
+                    : exerciseRepository.findStandaloneOrderByNameAfter(after.name(), after.id(), limit);
+        }
         return exercises.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    private static ExerciseDto keyOf(ExerciseCursor cursor) {
+        ExerciseDto key = new ExerciseDto();
+        key.setId(cursor.id());
+        key.setName(cursor.name());
+        return key;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadCatalog() {
+        List<ExerciseDto> exercises = findAllExercises();
+        searchIndex.rebuild(exercises);
+        if (catalogCache.isWarmOnStartup()) {
+            catalogCache.putAll(exercises);
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<ExerciseDto> getExercisesForWorkoutDay(Long workoutDayId, String username) {
         return exerciseRepository.findByWorkoutDayId(workoutDayId).stream()
@@ -146,6 +274,42 @@ public class ExerciseService {
                 .collect(Collectors.toList());
     }
 
+    private List<ExerciseDto> findAllExercises() {
+        return exerciseRepository.findAll().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private int resolveSearchLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_SEARCH_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_SEARCH_LIMIT);
+    }
+
+    // Backslash is PostgreSQL's default LIKE escape character
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private void evictCatalog(Long id) {
+        TransactionHooks.evictNowAndAfterCommit(
+                id == null ? catalogCache::invalidateCatalog : () -> catalogCache.invalidate(id));
+    }
+
     private void updateExerciseFromDto(Exercise exercise, ExerciseDto dto) {
         exercise.setName(dto.getName());
         exercise.setDescription(dto.getDescription());
@@ -0,0 +1,154 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseStatsDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.repository.ExerciseRepository;
+import com.artisoft.fitbuddy.repository.ExerciseStatsRepository;
+import com.artisoft.fitbuddy.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@link ExerciseStats} alongside progress log writes. New logs are folded into the running
+ * totals directly; edits and deletions rebuild only the affected exercises, since a lowered record
+ * cannot be derived from the old value.
+ * <p>
+ * Every write locks the user's row first, so concurrent logs of the same exercise apply one after the
+ * other instead of both inserting the row or failing on its version.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExerciseStatsService {
+    private final ExerciseStatsRepository exerciseStatsRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final UserRepository userRepository;
+
+    @Transactional
+    public void recordLogs(Long userId, Collection<ProgressLog> logs) {
+        Set<Long> exerciseIds = logs.stream()
+                .flatMap(log -> performedExerciseIds(log).stream())
+                .collect(Collectors.toSet());
+        if (exerciseIds.isEmpty()) {
+            return;
+        }
+
+        userRepository.lockById(userId);
+        Map<Long, ExerciseStats> stats = loadOrCreate(userId, exerciseIds);
+        for (ProgressLog log : logs) {
+            for (ExerciseProgress progress : log.getExerciseProgresses()) {
+                Long exerciseId = performedExerciseId(progress);
+                if (exerciseId == null) {
+                    continue;
+                }
+                ExerciseStats exerciseStats = stats.get(exerciseId);
+                for (ExerciseProgress.SetDetail set : progress.getSetDetails()) {
+                    exerciseStats.recordSet(log.getDate(), set.getReps(), set.getWeight());
+                }
+            }
+        }
+        exerciseStatsRepository.saveAll(stats.values());
+    }
+
+    /**
+     * Rebuilds the stats of the given exercises from the sets currently stored for the user.
+     * Exercises with no sets left lose their stats row.
+     */
+    @Transactional
+    public void refresh(Long userId, Collection<Long> exerciseIds) {
+        if (exerciseIds.isEmpty()) {
+            return;
+        }
+
+        userRepository.lockById(userId);
+        Map<Long, ExerciseStats> stats = loadOrCreate(userId, exerciseIds);
+        stats.values().forEach(ExerciseStats::reset);
+        for (Object[] row : exerciseStatsRepository.findPerformedSets(userId, exerciseIds)) {
+            stats.get((Long) row[0]).recordSet((LocalDate) row[1], (Integer) row[2], (Double) row[3]);
+        }
+
+        for (ExerciseStats exerciseStats : stats.values()) {
+            if (exerciseStats.getTotalSets() > 0) {
+                exerciseStatsRepository.save(exerciseStats);
+            } else if (exerciseStats.getId() != null) {
+                exerciseStatsRepository.delete(exerciseStats);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExerciseStatsDto> getExerciseStats(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        return exerciseStatsRepository.findAllWithExerciseByUserId(user.getId()).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public ExerciseStatsDto getExerciseStats(Long exerciseId, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        return exerciseStatsRepository.findWithExerciseByUserIdAndExerciseId(user.getId(), exerciseId)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new IllegalArgumentException("Exercise stats not found"));
+    }
+
+    static Set<Long> performedExerciseIds(ProgressLog log) {
+        return log.getExerciseProgresses().stream()
+                .map(ExerciseStatsService::performedExerciseId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    // The replacement if one was done, otherwise the planned exercise; skipped exercises and deleted
+    // replacements count as not performed
+    static Long performedExerciseId(ExerciseProgress progress) {
+        if (Boolean.TRUE.equals(progress.getSkipped()) || Boolean.TRUE.equals(progress.getReplacementRemoved())) {
+            return null;
+        }
+        if (progress.getReplacementExercise() != null) {
+            return progress.getReplacementExercise().getId();
+        }
+        if (progress.getPlannedExercise() != null) {
+            return progress.getPlannedExercise().getExercise().getId();
+        }
+        return null;
+    }
+
+    private Map<Long, ExerciseStats> loadOrCreate(Long userId, Collection<Long> exerciseIds) {
+        Map<Long, ExerciseStats> stats = exerciseStatsRepository.findByUserIdAndExerciseIdIn(userId, exerciseIds).stream()
+                .collect(Collectors.toMap(es -> es.getExercise().getId(), Function.identity()));
+
+        for (Long exerciseId : exerciseIds) {
+            if (!stats.containsKey(exerciseId)) {
+                ExerciseStats exerciseStats = new ExerciseStats();
+                exerciseStats.setUser(userRepository.getReferenceById(userId));
+                exerciseStats.setExercise(exerciseRepository.getReferenceById(exerciseId));
+                stats.put(exerciseId, exerciseStats);
+            }
+        }
+        return stats;
+    }
+
+    private ExerciseStatsDto convertToDto(ExerciseStats stats) {
+        ExerciseStatsDto dto = new ExerciseStatsDto();
+        dto.setExerciseId(stats.getExercise().getId());
+        dto.setExerciseName(stats.getExercise().getName());
+        dto.setMaxWeight(stats.getMaxWeight());
+        dto.setBestSetReps(stats.getBestSetReps());
+        dto.setBestSetWeight(stats.getBestSetWeight());
+        dto.setEstimatedOneRepMax(stats.getEstimatedOneRepMax());
+        dto.setTotalVolume(stats.getTotalVolume());
+        dto.setTotalSets(stats.getTotalSets());
+        dto.setLastPerformed(stats.getLastPerformed());
+        return dto;
+    }
+}
@@ -0,0 +1,45 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.WorkoutDayExerciseDto;
+import com.artisoft.fitbuddy.model.Exercise;
+import com.artisoft.fitbuddy.repository.ExerciseRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the catalog exercises referenced by planned workout day exercises.
+ */
+final class PlannedExercises {
+
+    private PlannedExercises() {
+    }
+
+    /**
+     * Fetches every referenced exercise in one query, keyed by id. Fails if an id is missing or
+     * does not exist.
+     */
+    static Map<Long, Exercise> resolve(ExerciseRepository exerciseRepository, List<WorkoutDayExerciseDto> exerciseDtos) {
+        List<Long> ids = exerciseDtos.stream()
+                .map(WorkoutDayExerciseDto::getExerciseId)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("Exercise id is required");
+        }
+
+        Map<Long, Exercise> found = exerciseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Exercise::getId, Function.identity()));
+
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Exercises not found: " + missing);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,60 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.model.ProgressLog;
+import com.artisoft.fitbuddy.model.WorkoutProgram;
+import com.artisoft.fitbuddy.repository.ProgressLogRepository;
+import com.artisoft.fitbuddy.repository.WorkoutProgramRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link WorkoutProgram#getLastLogDate()} and {@link WorkoutProgram#getLogCount()} in step with
+ * progress log writes. New logs are applied as increments; removals recompute the affected programs
+ * from their logs. A nightly job repairs any program that drifted anyway, e.g. after manual SQL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgramActivityService {
+    private final WorkoutProgramRepository workoutProgramRepository;
+    private final ProgressLogRepository progressLogRepository;
+
+    @Transactional
+    public void recordLogs(Collection<ProgressLog> logs) {
+        Map<Long, List<LocalDate>> datesByProgram = logs.stream()
+                .collect(Collectors.groupingBy(log -> log.getWorkoutProgram().getId(),
+                        Collectors.mapping(ProgressLog::getDate, Collectors.toList())));
+
+        datesByProgram.forEach((programId, dates) -> workoutProgramRepository.recordLogs(
+                programId, dates.size(), dates.stream().max(LocalDate::compareTo).orElseThrow()));
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> programIds) {
+        if (programIds.isEmpty()) {
+            return;
+        }
+        progressLogRepository.flush();
+        workoutProgramRepository.refreshActivity(programIds);
+    }
+
+    @Scheduled(cron = "${app.programActivityRepairCron:0 30 3 * * *}")
+    @Transactional
+    public int repair() {
+        List<Long> stale = workoutProgramRepository.findIdsWithStaleActivity();
+        if (!stale.isEmpty()) {
+            log.warn("Repairing last log date and log count of {} workout programs: {}", stale.size(), stale);
+            workoutProgramRepository.refreshActivity(stale);
+        }
+        return stale.size();
+    }
+}
@@ -0,0 +1,170 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.model.User;
+import com.artisoft.fitbuddy.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams a user's full training history as newline-delimited JSON, one {@link ProgressLogDto} per line.
+ * <p>
+ * Rows come from a single forward-only cursor ordered by log, exercise and set, and each log is
+ * written as soon as its last row has been read, so heap use does not grow with history size.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProgressLogExportService {
+    static final int FETCH_SIZE = 500;
+    private static final int FLUSH_EVERY_LOGS = 100;
+
+    private static final String EXPORT_SQL =
+            "SELECT pl.id AS log_id, pl.date AS log_date, pl.notes AS log_notes, " +
+            "pl.workout_program_id, pl.workout_day_id, wd.day_of_week, " +
+            "ep.id AS progress_id, ep.workout_day_exercise_id, ep.replacement_exercise_id, " +
+            "ep.order_index, ep.actual_sets, ep.rest_period_seconds, ep.completed, ep.skipped, " +
+            "ep.notes AS progress_notes, " +
+            "CASE WHEN ep.replacement_removed THEN NULL ELSE COALESCE(re.name, pe.name) END AS exercise_name, " +
+            "sd.set_number, sd.reps_per_set, sd.weight_per_set " +
+            "FROM progress_logs pl " +
+            "JOIN workout_programs wp ON wp.id = pl.workout_program_id " +
+            "LEFT JOIN workout_days wd ON wd.id = pl.workout_day_id " +
+            "LEFT JOIN exercise_progresses ep ON ep.progress_log_id = pl.id " +
+            "LEFT JOIN workout_day_exercises wde ON wde.id = ep.workout_day_exercise_id " +
+            "LEFT JOIN exercises pe ON pe.id = wde.exercise_id " +
+            "LEFT JOIN exercises re ON re.id = ep.replacement_exercise_id " +
+            "LEFT JOIN exercise_progress_set_details sd ON sd.exercise_progress_id = ep.id " +
+            "WHERE wp.user_id = ? " +
+            "ORDER BY pl.date, pl.id, ep.order_index, ep.id, sd.set_number";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+
+    // The transaction keeps the connection out of autocommit, which PostgreSQL needs to honour the fetch size
+    @Transactional(readOnly = true)
+    public void exportUserHistory(String username, OutputStream out) throws IOException {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        ObjectWriter writer = objectMapper.writerFor(ProgressLogDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            NdjsonLogWriter logWriter = new NdjsonLogWriter(writer, generator);
+
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setLong(1, user.getId());
+                return statement;
+            }, logWriter);
+
+            logWriter.finish();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Folds consecutive rows of the same log into one DTO and writes it when the log id changes.
+     */
+    private static class NdjsonLogWriter implements RowCallbackHandler {
+        private final ObjectWriter writer;
+        private final JsonGenerator generator;
+        private ProgressLogDto currentLog;
+        private ExerciseProgressDto currentProgress;
+        private int logsSinceFlush;
+
+        NdjsonLogWriter(ObjectWriter writer, JsonGenerator generator) {
+            this.writer = writer;
+            this.generator = generator;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long logId = rs.getLong("log_id");
+            if (currentLog == null || currentLog.getId() != logId) {
+                writeCurrentLog();
+                currentLog = new ProgressLogDto();
+                currentLog.setId(logId);
+                currentLog.setDate(rs.getDate("log_date").toLocalDate());
+                currentLog.setNotes(rs.getString("log_notes"));
+                currentLog.setWorkoutProgramId(rs.getLong("workout_program_id"));
+                currentLog.setWorkoutDayId(rs.getObject("workout_day_id", Long.class));
+                currentLog.setWorkoutDayName(rs.getString("day_of_week"));
+                currentProgress = null;
+            }
+
+            Long progressId = rs.getObject("progress_id", Long.class);
+            if (progressId == null) {
+                return;
+            }
+            if (currentProgress == null || !currentProgress.getId().equals(progressId)) {
+                currentProgress = new ExerciseProgressDto();
+                currentProgress.setId(progressId);
+                currentProgress.setWorkoutDayExerciseId(rs.getObject("workout_day_exercise_id", Long.class));
+                currentProgress.setReplacementExerciseId(rs.getObject("replacement_exercise_id", Long.class));
+                currentProgress.setExerciseName(rs.getString("exercise_name"));
+                currentProgress.setOrderIndex(rs.getInt("order_index"));
+                currentProgress.setActualSets(rs.getInt("actual_sets"));
+                currentProgress.setRestPeriodBetweenSets(rs.getObject("rest_period_seconds", Integer.class));
+                currentProgress.setCompleted(rs.getBoolean("completed"));
+                currentProgress.setSkipped(rs.getBoolean("skipped"));
+                currentProgress.setNotes(rs.getString("progress_notes"));
+                currentLog.getExerciseProgresses().add(currentProgress);
+            }
+
+            if (rs.getObject("set_number") != null) {
+                currentProgress.getRepsPerSet().add(rs.getObject("reps_per_set", Integer.class));
+                currentProgress.getWeightPerSet().add(rs.getObject("weight_per_set", Double.class));
+            }
+        }
+
+        void finish() {
+            writeCurrentLog();
+            flush();
+        }
+
+        private void writeCurrentLog() {
+            if (currentLog == null) {
+                return;
+            }
+            try {
+                writer.writeValue(generator, currentLog);
+                generator.writeRaw('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            if (++logsSinceFlush >= FLUSH_EVERY_LOGS) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            try {
+                generator.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            logsSinceFlush = 0;
+        }
+    }
+}
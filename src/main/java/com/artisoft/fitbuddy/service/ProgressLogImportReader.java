@@ -0,0 +1,269 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Reads import records one at a time so the request body is never held in memory as a whole.
+ * A record that cannot be parsed is returned with an error instead of aborting the import.
+ */
+interface ProgressLogImportReader {
+
+    /**
+     * Returns the next record, or {@code null} once the input is exhausted.
+     */
+    Record next() throws IOException;
+
+    record Record(long line, ProgressLogDto log, String error) {
+        static Record parsed(long line, ProgressLogDto log) {
+            return new Record(line, log, null);
+        }
+
+        static Record failed(long line, String error) {
+            return new Record(line, null, error);
+        }
+    }
+
+    /**
+     * One {@link ProgressLogDto} per line, the same shape the export endpoint writes.
+     */
+    final class Ndjson implements ProgressLogImportReader {
+        private final BufferedReader reader;
+        private final ObjectReader objectReader;
+        private long lineNumber;
+
+        Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectReader = objectMapper.readerFor(ProgressLogDto.class);
+        }
+
+        @Override
+        public Record next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+
+            try {
+                ProgressLogDto log = objectReader.readValue(line);
+                if (log == null) {
+                    return Record.failed(lineNumber, "Progress log must not be null");
+                }
+                return Record.parsed(lineNumber, log);
+            } catch (JsonProcessingException ex) {
+                return Record.failed(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * One exercise per row; consecutive rows with the same date, program and day form one log.
+     * The header row names the columns, so their order is free. Sets are written as
+     * {@code reps x weight} pairs separated by semicolons, e.g. {@code 10x60;8x62.5}.
+     * Quoted fields may contain commas but not line breaks.
+     */
+    final class Csv implements ProgressLogImportReader {
+        static final List<String> REQUIRED_COLUMNS = List.of(
+                "date", "workoutProgramId", "workoutDayId", "orderIndex", "sets");
+
+        private final BufferedReader reader;
+        private Map<String, Integer> columns;
+        private long lineNumber;
+        private Row pending;
+
+        Csv(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Record next() throws IOException {
+            if (columns == null) {
+                readHeader();
+            }
+
+            Row first = pending != null ? pending : readRow();
+            pending = null;
+            if (first == null) {
+                return null;
+            }
+
+            String key = first.groupKey();
+            ProgressLogDto log = new ProgressLogDto();
+            String error = null;
+            try {
+                log.setDate(parseDate(first.value("date")));
+                log.setWorkoutProgramId(parseLong(first, "workoutProgramId"));
+                log.setWorkoutDayId(parseLong(first, "workoutDayId"));
+                log.setNotes(first.value("logNotes"));
+                log.getExerciseProgresses().add(toExerciseProgress(first));
+            } catch (IllegalArgumentException ex) {
+                error = "Line " + first.line() + ": " + ex.getMessage();
+            }
+
+            // Always consume the whole group so a bad row rejects exactly one log
+            Row row;
+            while ((row = readRow()) != null && row.groupKey().equals(key)) {
+                if (error != null) {
+                    continue;
+                }
+                try {
+                    log.getExerciseProgresses().add(toExerciseProgress(row));
+                } catch (IllegalArgumentException ex) {
+                    error = "Line " + row.line() + ": " + ex.getMessage();
+                }
+            }
+            pending = row;
+
+            return error == null ? Record.parsed(first.line(), log) : Record.failed(first.line(), error);
+        }
+
+        private void readHeader() throws IOException {
+            String line = reader.readLine();
+            lineNumber++;
+            if (line == null || line.isBlank()) {
+                throw new IllegalArgumentException("CSV header row is missing");
+            }
+            columns = new HashMap<>();
+            String[] names = splitLine(line);
+            for (int i = 0; i < names.length; i++) {
+                columns.put(names[i].trim(), i);
+            }
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(name -> !columns.containsKey(name)).toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("CSV columns missing: " + missing);
+            }
+        }
+
+        private Row readRow() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+            return new Row(lineNumber, splitLine(line), columns);
+        }
+
+        private ExerciseProgressDto toExerciseProgress(Row row) {
+            ExerciseProgressDto dto = new ExerciseProgressDto();
+            dto.setOrderIndex(parseInteger(row, "orderIndex"));
+            dto.setWorkoutDayExerciseId(parseLong(row, "workoutDayExerciseId"));
+            dto.setReplacementExerciseId(parseLong(row, "replacementExerciseId"));
+            dto.setRestPeriodBetweenSets(parseInteger(row, "restSeconds"));
+            dto.setNotes(row.value("notes"));
+            if (row.value("completed") != null) {
+                dto.setCompleted(Boolean.parseBoolean(row.value("completed")));
+            }
+            if (row.value("skipped") != null) {
+                dto.setSkipped(Boolean.parseBoolean(row.value("skipped")));
+            }
+
+            String sets = row.value("sets");
+            if (sets != null) {
+                for (String set : sets.split(";")) {
+                    String[] repsAndWeight = set.trim().split("[xX]", 2);
+                    try {
+                        dto.getRepsPerSet().add(Integer.valueOf(repsAndWeight[0].trim()));
+                        dto.getWeightPerSet().add(repsAndWeight.length == 2 && !repsAndWeight[1].isBlank()
+                                ? Double.valueOf(repsAndWeight[1].trim())
+                                : null);
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("Invalid set '" + set.trim() + "'");
+                    }
+                }
+            }
+
+            Integer actualSets = parseInteger(row, "actualSets");
+            dto.setActualSets(actualSets != null ? actualSets : dto.getRepsPerSet().size());
+            return dto;
+        }
+
+        private static LocalDate parseDate(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid date '" + value + "'");
+            }
+        }
+
+        private static Long parseLong(Row row, String column) {
+            String value = row.value(column);
+            try {
+                return value == null ? null : Long.valueOf(value);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+            }
+        }
+
+        private static Integer parseInteger(Row row, String column) {
+            String value = row.value(column);
+            try {
+                return value == null ? null : Integer.valueOf(value);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+            }
+        }
+
+        static String[] splitLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields.toArray(String[]::new);
+        }
+
+        private record Row(long line, String[] values, Map<String, Integer> columns) {
+
+            // Blank and absent cells both read as null
+            String value(String column) {
+                Integer index = columns.get(column);
+                if (index == null || index >= values.length || values[index].isBlank()) {
+                    return null;
+                }
+                return values[index].trim();
+            }
+
+            String groupKey() {
+                return value("date") + '|' + value("workoutProgramId") + '|' + value("workoutDayId");
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.dto.ProgressLogImportReport;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of historical progress logs from NDJSON or CSV.
+ * <p>
+ * The body is parsed record by record and written in chunks of {@value #CHUNK_SIZE} logs, each in its
+ * own transaction, so a large import neither holds the whole file in memory nor one huge transaction.
+ * Invalid records are reported by line and skipped; a chunk that fails to commit is reported as a whole.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgressLogImportService {
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    public enum ImportFormat {
+        NDJSON, CSV;
+
+        public static ImportFormat fromContentType(String contentType) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType("application/x-ndjson"))) {
+                return NDJSON;
+            }
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+                return CSV;
+            }
+            throw new IllegalArgumentException("Unsupported import format: " + contentType);
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final UserRepository userRepository;
+    private final WorkoutProgramRepository workoutProgramRepository;
+    private final WorkoutDayRepository workoutDayRepository;
+    private final WorkoutDayExerciseRepository workoutDayExerciseRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final ProgressLogRepository progressLogRepository;
+    private final ExerciseStatsService exerciseStatsService;
+    private final VolumeRollupService volumeRollupService;
+    private final ProgramActivityService programActivityService;
+
+    public ProgressLogImportReport importProgressLogs(InputStream in, ImportFormat format, String username)
+            throws IOException {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        Set<Long> ownedProgramIds = workoutProgramRepository.findByUserId(user.getId()).stream()
+                .map(WorkoutProgram::getId)
+                .collect(Collectors.toSet());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ProgressLogImportReader recordReader = format == ImportFormat.CSV
+                ? new ProgressLogImportReader.Csv(reader)
+                : new ProgressLogImportReader.Ndjson(reader, objectMapper);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ProgressLogImportReport report = new ProgressLogImportReport();
+        List<ProgressLogImportReader.Record> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        ProgressLogImportReader.Record record;
+        while ((record = recordReader.next()) != null) {
+            if (record.error() != null) {
+                reject(report, record.line(), record.error());
+                continue;
+            }
+            chunk.add(record);
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, user.getId(), ownedProgramIds, transactionTemplate, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, user.getId(), ownedProgramIds, transactionTemplate, report);
+        }
+
+        return report;
+    }
+
+    private void importChunk(List<ProgressLogImportReader.Record> chunk, Long userId, Set<Long> ownedProgramIds,
+                             TransactionTemplate transactionTemplate, ProgressLogImportReport report) {
+        Map<Long, String> rejected = new TreeMap<>();
+        int saved;
+        try {
+            saved = transactionTemplate.execute(status -> saveChunk(chunk, userId, ownedProgramIds, rejected));
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Import chunk of lines {}-{} could not be saved", chunk.get(0).line(),
+                    chunk.get(chunk.size() - 1).line(), ex);
+            String message = "Chunk could not be saved: " + ex.getMostSpecificCause().getMessage();
+            chunk.forEach(record -> reject(report, record.line(), rejected.getOrDefault(record.line(), message)));
+            return;
+        }
+
+        report.setImported(report.getImported() + saved);
+        rejected.forEach((line, message) -> reject(report, line, message));
+    }
+
+    /**
+     * Checks every record's fields first, then resolves the references of the remaining ones with one query
+     * per entity type and saves the valid logs in JDBC batches. Invalid records are collected in
+     * {@code rejected} by line.
+     */
+    private int saveChunk(List<ProgressLogImportReader.Record> chunk, Long userId, Set<Long> ownedProgramIds,
+                          Map<Long, String> rejected) {
+        List<ProgressLogImportReader.Record> wellFormed = new ArrayList<>(chunk.size());
+        for (ProgressLogImportReader.Record record : chunk) {
+            String error = validateFields(record.log());
+            if (error != null) {
+                rejected.put(record.line(), error);
+            } else {
+                wellFormed.add(record);
+            }
+        }
+
+        List<ProgressLogDto> dtos = wellFormed.stream().map(ProgressLogImportReader.Record::log).toList();
+        List<ExerciseProgressDto> progressDtos = dtos.stream()
+                .flatMap(dto -> dto.getExerciseProgresses().stream())
+                .toList();
+
+        Map<Long, WorkoutDay> days = findAllById(
+                ids(dtos, ProgressLogDto::getWorkoutDayId), workoutDayRepository::findAllById, WorkoutDay::getId);
+        Map<Long, WorkoutDayExercise> plannedExercises = findAllById(
+                ids(progressDtos, ExerciseProgressDto::getWorkoutDayExerciseId),
+                workoutDayExerciseRepository::findAllWithDayAndExerciseByIdIn, WorkoutDayExercise::getId);
+        Map<Long, Exercise> replacementExercises = findAllById(
+                ids(progressDtos, ExerciseProgressDto::getReplacementExerciseId),
+                exerciseRepository::findAllById, Exercise::getId);
+
+        List<ProgressLog> logs = new ArrayList<>(wellFormed.size());
+        for (ProgressLogImportReader.Record record : wellFormed) {
+            ProgressLogDto dto = record.log();
+            String error = validateReferences(dto, ownedProgramIds, days, plannedExercises, replacementExercises);
+            if (error != null) {
+                rejected.put(record.line(), error);
+                continue;
+            }
+
+            ProgressLog progressLog = new ProgressLog();
+            progressLog.setDate(dto.getDate());
+            progressLog.setNotes(dto.getNotes());
+            progressLog.setWorkoutProgram(workoutProgramRepository.getReferenceById(dto.getWorkoutProgramId()));
+            progressLog.setWorkoutDay(days.get(dto.getWorkoutDayId()));
+            for (ExerciseProgressDto progressDto : dto.getExerciseProgresses()) {
+                progressLog.getExerciseProgresses().add(ProgressLogService.createExerciseProgress(
+                        progressDto, progressLog, plannedExercises, replacementExercises));
+            }
+            logs.add(progressLog);
+        }
+
+        progressLogRepository.saveAll(logs);
+        exerciseStatsService.recordLogs(userId, logs);
+        volumeRollupService.recordLogs(userId, logs);
+        programActivityService.recordLogs(logs);
+
+        // With open-in-view the request's EntityManager outlives this transaction; detach the chunk so
+        // memory and dirty checking stay bounded by the chunk rather than by the whole file
+        progressLogRepository.flush();
+        entityManager.clear();
+        return logs.size();
+    }
+
+    // Runs before anything iterates the chunk, so a null list or flag rejects its line instead of the import
+    private String validateFields(ProgressLogDto dto) {
+        Set<ConstraintViolation<ProgressLogDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+        }
+
+        for (ExerciseProgressDto progressDto : dto.getExerciseProgresses()) {
+            if (progressDto == null) {
+                return "Exercise progress must not be null";
+            }
+            Set<ConstraintViolation<ExerciseProgressDto>> progressViolations = validator.validate(progressDto);
+            if (!progressViolations.isEmpty()) {
+                return progressViolations.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining(", "));
+            }
+            if (progressDto.getRepsPerSet().size() != progressDto.getWeightPerSet().size()) {
+                return "Reps and weights must be recorded for the same number of sets";
+            }
+        }
+        return null;
+    }
+
+    private String validateReferences(ProgressLogDto dto, Set<Long> ownedProgramIds, Map<Long, WorkoutDay> days,
+                                      Map<Long, WorkoutDayExercise> plannedExercises,
+                                      Map<Long, Exercise> replacementExercises) {
+        Long programId = dto.getWorkoutProgramId();
+        if (programId == null || !ownedProgramIds.contains(programId)) {
+            return "Workout program not found";
+        }
+        WorkoutDay day = days.get(dto.getWorkoutDayId());
+        if (day == null || !day.getWorkoutProgram().getId().equals(programId)) {
+            return "Workout day not found";
+        }
+
+        List<Long> missingPlanned = new ArrayList<>();
+        List<Long> missingReplacements = new ArrayList<>();
+        for (ExerciseProgressDto progressDto : dto.getExerciseProgresses()) {
+            Long plannedId = progressDto.getWorkoutDayExerciseId();
+            WorkoutDayExercise planned = plannedId == null ? null : plannedExercises.get(plannedId);
+            if (plannedId != null && (planned == null
+                    || !planned.getWorkoutDay().getWorkoutProgram().getId().equals(programId))) {
+                missingPlanned.add(plannedId);
+            }
+            Long replacementId = progressDto.getReplacementExerciseId();
+            if (replacementId != null && !replacementExercises.containsKey(replacementId)) {
+                missingReplacements.add(replacementId);
+            }
+        }
+        if (!missingPlanned.isEmpty()) {
+            return "Planned exercises not found: " + missingPlanned;
+        }
+        if (!missingReplacements.isEmpty()) {
+            return "Replacement exercises not found: " + missingReplacements;
+        }
+        return null;
+    }
+
+    private static <T> Set<Long> ids(List<T> items, Function<T, Long> idOf) {
+        return items.stream()
+                .map(idOf)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <E> Map<Long, E> findAllById(Set<Long> ids, Function<Set<Long>, List<E>> finder,
+                                                Function<E, Long> idOf) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return finder.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private static void reject(ProgressLogImportReport report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ProgressLogImportReport.LineError(line, message));
+        }
+    }
+}
@@ -1,28 +1,39 @@
 package com.artisoft.fitbuddy.service;
 
+import com.artisoft.fitbuddy.dto.CursorPage;
 import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
 import com.artisoft.fitbuddy.dto.ProgressLogDto;
 import com.artisoft.fitbuddy.dto.ProgressLogSummaryDto;
 import com.artisoft.fitbuddy.model.*;
 import com.artisoft.fitbuddy.repository.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "fitbuddy.service", histogram = true)
 public class ProgressLogService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
     private final ProgressLogRepository progressLogRepository;
     private final WorkoutProgramRepository workoutProgramRepository;
     private final WorkoutDayRepository workoutDayRepository;
     private final WorkoutDayExerciseRepository workoutDayExerciseRepository;
     private final ExerciseRepository exerciseRepository;
+    private final ExerciseProgressRepository exerciseProgressRepository;
     private final UserRepository userRepository;
+    private final ExerciseStatsService exerciseStatsService;
+    private final VolumeRollupService volumeRollupService;
+    private final ProgramActivityService programActivityService;
 
     @Transactional
     public ProgressLogDto createProgressLog(ProgressLogDto dto, String username) {
@@ -45,14 +56,11 @@ public class ProgressLogService {
         progressLog.setWorkoutProgram(workoutProgram);
         progressLog.setWorkoutDay(workoutDay);
 
-        List<ExerciseProgress> exerciseProgresses = new ArrayList<>();
-        for (ExerciseProgressDto progressDto : dto.getExerciseProgresses()) {
-            ExerciseProgress progress = createExerciseProgress(progressDto, progressLog);
-            exerciseProgresses.add(progress);
-        }
-
-        progressLog.setExerciseProgresses(exerciseProgresses);
+        progressLog.setExerciseProgresses(createExerciseProgresses(dto.getExerciseProgresses(), progressLog));
         progressLog = progressLogRepository.save(progressLog);
+        exerciseStatsService.recordLogs(user.getId(), List.of(progressLog));
+        volumeRollupService.recordLogs(user.getId(), List.of(progressLog));
+        programActivityService.recordLogs(List.of(progressLog));
 
         return convertToDto(progressLog);
     }
@@ -68,19 +76,23 @@ public class ProgressLogService {
 
         progressLog.setNotes(dto.getNotes());
 
-        // Remove existing progress entries
-        progressLog.getExerciseProgresses().clear();
+        // Resolve references before touching the existing entries so a bad request leaves them intact
+        List<ExerciseProgress> exerciseProgresses = createExerciseProgresses(dto.getExerciseProgresses(), progressLog);
 
-        // Add updated progress entries
-        List<ExerciseProgress> exerciseProgresses = new ArrayList<>();
-        for (ExerciseProgressDto progressDto : dto.getExerciseProgresses()) {
-            ExerciseProgress progress = createExerciseProgress(progressDto, progressLog);
-            exerciseProgresses.add(progress);
-        }
+        // Stats of exercises dropped from the log must be rebuilt as well as those of the new entries
+        Set<Long> affectedExerciseIds = ExerciseStatsService.performedExerciseIds(progressLog);
+        List<VolumeRollupService.Contribution> previousVolume = VolumeRollupService.contributionsOf(List.of(progressLog));
 
-        progressLog.setExerciseProgresses(exerciseProgresses);
+        // Replace entries in place; orphanRemoval requires keeping the managed collection
+        progressLog.getExerciseProgresses().clear();
+        progressLog.getExerciseProgresses().addAll(exerciseProgresses);
         progressLog = progressLogRepository.save(progressLog);
 
+        Long userId = progressLog.getWorkoutProgram().getUser().getId();
+        affectedExerciseIds.addAll(ExerciseStatsService.performedExerciseIds(progressLog));
+        exerciseStatsService.refresh(userId, affectedExerciseIds);
+        volumeRollupService.apply(userId, previousVolume, VolumeRollupService.contributionsOf(List.of(progressLog)));
+
         return convertToDto(progressLog);
     }
 
@@ -89,17 +101,13 @@ public class ProgressLogService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        List<ProgressLog> logs = progressLogRepository.findByWorkoutProgramUserIdAndDateBetween(
-                user.getId(), startDate, endDate);
-
-        return logs.stream()
-                .map(this::convertToSummaryDto)
-                .collect(Collectors.toList());
+        return progressLogRepository.findSummariesByUserIdAndDateBetween(user.getId(), startDate, endDate);
     }
 
     @Transactional(readOnly = true)
     public ProgressLogDto getProgressLog(Long id, String username) {
-        ProgressLog progressLog = progressLogRepository.findById(id)
+        ProgressLog progressLog = loadProgressLogsWithDetails(List.of(id)).stream()
+                .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Progress log not found"));
 
         if (!progressLog.getWorkoutProgram().getUser().getUsername().equals(username)) {
@@ -118,11 +126,19 @@ public class ProgressLogService {
             throw new IllegalArgumentException("Access denied");
         }
 
+        Long userId = progressLog.getWorkoutProgram().getUser().getId();
+        Set<Long> affectedExerciseIds = ExerciseStatsService.performedExerciseIds(progressLog);
+        List<VolumeRollupService.Contribution> previousVolume = VolumeRollupService.contributionsOf(List.of(progressLog));
+
         progressLogRepository.delete(progressLog);
+        exerciseStatsService.refresh(userId, affectedExerciseIds);
+        volumeRollupService.apply(userId, previousVolume, List.of());
+        programActivityService.refresh(List.of(progressLog.getWorkoutProgram().getId()));
     }
 
     @Transactional(readOnly = true)
-    public List<ProgressLogSummaryDto> getProgressLogSummaries(Long programId, String username) {
+    public CursorPage<ProgressLogSummaryDto> getProgressLogSummaries(Long programId, String cursor, Integer size,
+                                                                     String username) {
         WorkoutProgram program = workoutProgramRepository.findById(programId)
                 .orElseThrow(() -> new IllegalArgumentException("Program not found"));
 
@@ -130,34 +146,23 @@ public class ProgressLogService {
             throw new IllegalArgumentException("Access denied");
         }
 
-        List<ProgressLog> logs = progressLogRepository.findByWorkoutProgramIdOrderByDateDesc(programId);
-
-        return logs.stream()
-                .map(log -> {
-                    ProgressLogSummaryDto summary = new ProgressLogSummaryDto();
-                    summary.setId(log.getId());
-                    summary.setDate(log.getDate());
-                    summary.setWorkoutDayName(log.getWorkoutDay().getDayOfWeek().name());
-
-                    int totalExercises = log.getExerciseProgresses().size();
-                    int completedExercises = (int) log.getExerciseProgresses().stream()
-                            .filter(ExerciseProgress::getCompleted)
-                            .count();
-                    int skippedExercises = (int) log.getExerciseProgresses().stream()
-                            .filter(ExerciseProgress::getSkipped)
-                            .count();
-
-                    summary.setTotalExercises(totalExercises);
-                    summary.setCompletedExercises(completedExercises);
-                    summary.setSkippedExercises(skippedExercises);
-
-                    return summary;
-                })
-                .collect(Collectors.toList());
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row to learn whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<ProgressLogSummaryDto> summaries;
+        if (cursor == null || cursor.isEmpty()) {
+            summaries = progressLogRepository.findSummariesByWorkoutProgramId(programId, limit);
+        } else {
+            ProgressLogCursor position = ProgressLogCursor.decode(cursor);
+            summaries = progressLogRepository.findSummariesByWorkoutProgramIdAfter(
+                    programId, position.date(), position.id(), limit);
+        }
+
+        return toPage(summaries, pageSize, summary -> new ProgressLogCursor(summary.getDate(), summary.getId()));
     }
 
     @Transactional(readOnly = true)
-    public List<ProgressLogDto> getProgressLogs(Long programId, String username) {
+    public CursorPage<ProgressLogDto> getProgressLogs(Long programId, String cursor, Integer size, String username) {
         WorkoutProgram program = workoutProgramRepository.findById(programId)
                 .orElseThrow(() -> new IllegalArgumentException("Program not found"));
 
@@ -165,28 +170,126 @@ public class ProgressLogService {
             throw new IllegalArgumentException("Access denied");
         }
 
-        List<ProgressLog> logs = progressLogRepository.findByWorkoutProgramIdOrderByDateDesc(programId);
-        return logs.stream()
+        int pageSize = resolvePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> logIds;
+        if (cursor == null || cursor.isEmpty()) {
+            logIds = progressLogRepository.findIdsByWorkoutProgramId(programId, limit);
+        } else {
+            ProgressLogCursor position = ProgressLogCursor.decode(cursor);
+            logIds = progressLogRepository.findIdsByWorkoutProgramIdAfter(
+                    programId, position.date(), position.id(), limit);
+        }
+
+        List<ProgressLogDto> logs = loadProgressLogsWithDetails(logIds).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        return toPage(logs, pageSize, log -> new ProgressLogCursor(log.getDate(), log.getId()));
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // Expects up to pageSize + 1 rows; the extra row only signals that a next page exists
+    private <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, ProgressLogCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(new ArrayList<>(items), cursorOf.apply(items.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Loads the given logs with everything {@link #convertToDto} touches in a fixed number of queries,
+     * preserving the order of {@code ids}.
+     */
+    private List<ProgressLog> loadProgressLogsWithDetails(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ProgressLog> logsById = progressLogRepository.findAllWithExerciseProgressesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProgressLog::getId, Function.identity()));
+        // Initializes setDetails on the exercise progresses already in the persistence context
+        exerciseProgressRepository.findAllWithSetDetailsByProgressLogIdIn(ids);
+
+        return ids.stream()
+                .map(logsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<ExerciseProgress> createExerciseProgresses(List<ExerciseProgressDto> dtos, ProgressLog progressLog) {
+        Map<Long, WorkoutDayExercise> plannedExercises = resolvePlannedExercises(dtos, progressLog.getWorkoutProgram());
+        Map<Long, Exercise> replacementExercises = resolveReplacementExercises(dtos);
+
+        List<ExerciseProgress> exerciseProgresses = new ArrayList<>();
+        for (ExerciseProgressDto progressDto : dtos) {
+            exerciseProgresses.add(createExerciseProgress(progressDto, progressLog, plannedExercises, replacementExercises));
+        }
+        return exerciseProgresses;
+    }
+
+    // Loads every referenced planned exercise in one query and checks it belongs to the program
+    private Map<Long, WorkoutDayExercise> resolvePlannedExercises(List<ExerciseProgressDto> dtos, WorkoutProgram program) {
+        Set<Long> ids = dtos.stream()
+                .map(ExerciseProgressDto::getWorkoutDayExerciseId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, WorkoutDayExercise> found = workoutDayExerciseRepository.findAllWithDayAndExerciseByIdIn(ids).stream()
+                .filter(wde -> wde.getWorkoutDay().getWorkoutProgram().getId().equals(program.getId()))
+                .collect(Collectors.toMap(WorkoutDayExercise::getId, Function.identity()));
+
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Planned exercises not found: " + missing);
+        }
+        return found;
+    }
+
+    private Map<Long, Exercise> resolveReplacementExercises(List<ExerciseProgressDto> dtos) {
+        Set<Long> ids = dtos.stream()
+                .map(ExerciseProgressDto::getReplacementExerciseId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Exercise> found = exerciseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Exercise::getId, Function.identity()));
+
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Replacement exercises not found: " + missing);
+        }
+        return found;
     }
 
-    private ExerciseProgress createExerciseProgress(ExerciseProgressDto dto, ProgressLog progressLog) {
+    // Shared with ProgressLogImportService; callers must have resolved and checked every referenced id
+    static ExerciseProgress createExerciseProgress(ExerciseProgressDto dto, ProgressLog progressLog,
+                                                   Map<Long, WorkoutDayExercise> plannedExercises,
+                                                   Map<Long, Exercise> replacementExercises) {
         ExerciseProgress progress = new ExerciseProgress();
         progress.setProgressLog(progressLog);
 
         if (dto.getWorkoutDayExerciseId() != null) {
-            WorkoutDayExercise plannedExercise = workoutDayExerciseRepository
-                    .findById(dto.getWorkoutDayExerciseId())
-                    .orElseThrow(() -> new IllegalArgumentException("Planned exercise not found"));
-            progress.setPlannedExercise(plannedExercise);
+            progress.setPlannedExercise(plannedExercises.get(dto.getWorkoutDayExerciseId()));
         }
 
         if (dto.getReplacementExerciseId() != null) {
-            Exercise replacementExercise = exerciseRepository
-                    .findById(dto.getReplacementExerciseId())
-                    .orElseThrow(() -> new IllegalArgumentException("Replacement exercise not found"));
-            progress.setReplacementExercise(replacementExercise);
+            progress.setReplacementExercise(replacementExercises.get(dto.getReplacementExerciseId()));
         }
 
         progress.setOrderIndex(dto.getOrderIndex());
@@ -211,8 +314,11 @@ public class ProgressLogService {
         dto.setDate(progressLog.getDate());
         dto.setNotes(progressLog.getNotes());
         dto.setWorkoutProgramId(progressLog.getWorkoutProgram().getId());
-        dto.setWorkoutDayId(progressLog.getWorkoutDay().getId());
-        dto.setWorkoutDayName(progressLog.getWorkoutDay().getDayOfWeek().name());
+        // Null once the day has been removed from its program
+        if (progressLog.getWorkoutDay() != null) {
+            dto.setWorkoutDayId(progressLog.getWorkoutDay().getId());
+            dto.setWorkoutDayName(progressLog.getWorkoutDay().getDayOfWeek().name());
+        }
 
         List<ExerciseProgressDto> exerciseProgresses = progressLog.getExerciseProgresses().stream()
                 .map(this::convertToExerciseProgressDto)
@@ -228,7 +334,10 @@ public class ProgressLogService {
 
         if (progress.getPlannedExercise() != null) {
             dto.setWorkoutDayExerciseId(progress.getPlannedExercise().getId());
-            dto.setExerciseName(progress.getPlannedExercise().getExercise().getName());
+            // What was done instead of the plan is unknown once the replacement is deleted
+            if (!Boolean.TRUE.equals(progress.getReplacementRemoved())) {
+                dto.setExerciseName(progress.getPlannedExercise().getExercise().getName());
+            }
         }
 
         if (progress.getReplacementExercise() != null) {
@@ -240,8 +349,9 @@ public class ProgressLogService {
         dto.setActualSets(progress.getActualSets());
 
         // Add set details
-        for (int i = 0; i < dto.getRepsPerSet().size(); i++) {
-            progress.addSetDetail(dto.getRepsPerSet().get(i), dto.getWeightPerSet().get(i));
+        for (ExerciseProgress.SetDetail setDetail : progress.getSetDetails()) {
+            dto.getRepsPerSet().add(setDetail.getReps());
+            dto.getWeightPerSet().add(setDetail.getWeight());
         }
 
         dto.setRestPeriodBetweenSets(progress.getRestPeriodBetweenSets());
@@ -251,25 +361,4 @@ public class ProgressLogService {
 
         return dto;
     }
-
-    private ProgressLogSummaryDto convertToSummaryDto(ProgressLog progressLog) {
-        ProgressLogSummaryDto dto = new ProgressLogSummaryDto();
-        dto.setId(progressLog.getId());
-        dto.setDate(progressLog.getDate());
-        dto.setWorkoutDayName(progressLog.getWorkoutDay().getDayOfWeek().name());
-
-        int totalExercises = progressLog.getExerciseProgresses().size();
-        int completedExercises = (int) progressLog.getExerciseProgresses().stream()
-                .filter(ExerciseProgress::getCompleted)
-                .count();
-        int skippedExercises = (int) progressLog.getExerciseProgresses().stream()
-                .filter(ExerciseProgress::getSkipped)
-                .count();
-
-        dto.setTotalExercises(totalExercises);
-        dto.setCompletedExercises(completedExercises);
-        dto.setSkippedExercises(skippedExercises);
-
-        return dto;
-    }
 }
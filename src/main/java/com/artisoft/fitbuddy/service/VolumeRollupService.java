@@ -0,0 +1,223 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.VolumeRollupDto;
+import com.artisoft.fitbuddy.model.ExerciseProgress;
+import com.artisoft.fitbuddy.model.ExerciseVolumeRollup;
+import com.artisoft.fitbuddy.model.ExerciseVolumeRollup.Granularity;
+import com.artisoft.fitbuddy.model.ProgressLog;
+import com.artisoft.fitbuddy.model.User;
+import com.artisoft.fitbuddy.repository.ExerciseRepository;
+import com.artisoft.fitbuddy.repository.ExerciseVolumeRollupRepository;
+import com.artisoft.fitbuddy.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link ExerciseVolumeRollup} in step with progress log writes. Volume, sets, reps and sessions
+ * are plain sums, so every write is applied as a delta: what the log contributed before the change is
+ * subtracted and what it contributes afterwards is added.
+ * <p>
+ * Deltas and rebuilds lock the user's row first (see {@link UserRepository#lockById}), so a rebuild never
+ * interleaves with a delta: a log committed before the rebuild is counted by it, one committed after it
+ * is applied on top of the rebuilt rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class VolumeRollupService {
+    private final ExerciseVolumeRollupRepository rollupRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * What one log adds to the rollups of one exercise. Take it before modifying the log when the old
+     * values have to be subtracted.
+     */
+    public record Contribution(Long exerciseId, LocalDate date, double volume, int sets, int reps) {
+    }
+
+    public static List<Contribution> contributionsOf(Collection<ProgressLog> logs) {
+        List<Contribution> contributions = new ArrayList<>();
+        for (ProgressLog log : logs) {
+            Map<Long, Tally> tallies = new LinkedHashMap<>();
+            for (ExerciseProgress progress : log.getExerciseProgresses()) {
+                Long exerciseId = ExerciseStatsService.performedExerciseId(progress);
+                if (exerciseId == null) {
+                    continue;
+                }
+                for (ExerciseProgress.SetDetail set : progress.getSetDetails()) {
+                    tallies.computeIfAbsent(exerciseId, id -> new Tally()).add(set.getReps(), set.getWeight());
+                }
+            }
+            tallies.forEach((exerciseId, tally) -> contributions.add(tally.toContribution(exerciseId, log.getDate())));
+        }
+        return contributions;
+    }
+
+    @Transactional
+    public void recordLogs(Long userId, Collection<ProgressLog> logs) {
+        apply(userId, List.of(), contributionsOf(logs));
+    }
+
+    @Transactional
+    public void apply(Long userId, Collection<Contribution> removed, Collection<Contribution> added) {
+        Map<BucketKey, Delta> deltas = new HashMap<>();
+        removed.forEach(contribution -> addDelta(deltas, contribution, -1));
+        added.forEach(contribution -> addDelta(deltas, contribution, 1));
+        deltas.values().removeIf(Delta::isZero);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        userRepository.lockById(userId);
+        Set<Long> exerciseIds = deltas.keySet().stream().map(BucketKey::exerciseId).collect(Collectors.toSet());
+        LocalDate from = deltas.keySet().stream().map(BucketKey::periodStart).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = deltas.keySet().stream().map(BucketKey::periodStart).max(LocalDate::compareTo).orElseThrow();
+        Map<BucketKey, ExerciseVolumeRollup> rollups = rollupRepository.findForUpdate(userId, exerciseIds, from, to).stream()
+                .collect(Collectors.toMap(BucketKey::of, Function.identity()));
+
+        for (Map.Entry<BucketKey, Delta> entry : deltas.entrySet()) {
+            BucketKey key = entry.getKey();
+            Delta delta = entry.getValue();
+            ExerciseVolumeRollup rollup = rollups.get(key);
+            if (rollup == null) {
+                rollup = new ExerciseVolumeRollup();
+                rollup.setUser(userRepository.getReferenceById(userId));
+                rollup.setExercise(exerciseRepository.getReferenceById(key.exerciseId()));
+                rollup.setGranularity(key.granularity());
+                rollup.setPeriodStart(key.periodStart());
+            }
+
+            rollup.setVolume(rollup.getVolume() + delta.volume);
+            rollup.setSets(rollup.getSets() + delta.sets);
+            rollup.setReps(rollup.getReps() + delta.reps);
+            rollup.setSessions(rollup.getSessions() + delta.sessions);
+
+            if (rollup.getSessions() > 0) {
+                rollupRepository.save(rollup);
+            } else if (rollup.getId() != null) {
+                rollupRepository.delete(rollup);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<VolumeRollupDto> getVolume(String username, Granularity granularity, LocalDate startDate,
+                                           LocalDate endDate, Long exerciseId) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        // Include the bucket the start date falls into, e.g. the whole first week
+        LocalDate from = granularity.periodStart(startDate);
+        List<ExerciseVolumeRollup> rollups = exerciseId == null
+                ? rollupRepository.findRange(user.getId(), granularity, from, endDate)
+                : rollupRepository.findRangeForExercise(user.getId(), exerciseId, granularity, from, endDate);
+
+        return rollups.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recomputes all rollups of the user from the stored sets, e.g. after a backfill or a bug fix.
+     * Failures are logged by the handler in {@link com.artisoft.fitbuddy.config.AsyncConfig}.
+     */
+    @Async
+    @Transactional
+    public void rebuildRollups(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        // Held until commit: concurrent deltas wait for the rebuilt rows instead of landing on deleted ones
+        userRepository.lockById(user.getId());
+        rollupRepository.deleteByUserId(user.getId());
+
+        Map<List<Object>, Tally> tallies = new LinkedHashMap<>();
+        Map<List<Object>, LocalDate> dates = new HashMap<>();
+        for (Object[] row : rollupRepository.findPerformedSetsByUserId(user.getId())) {
+            if (row[1] == null) {
+                continue;
+            }
+            // One contribution per log and exercise, as contributionsOf builds them
+            List<Object> key = List.of(row[0], row[1]);
+            tallies.computeIfAbsent(key, k -> new Tally()).add((Integer) row[3], (Double) row[4]);
+            dates.putIfAbsent(key, (LocalDate) row[2]);
+        }
+
+        List<Contribution> contributions = tallies.entrySet().stream()
+                .map(entry -> entry.getValue().toContribution((Long) entry.getKey().get(1), dates.get(entry.getKey())))
+                .toList();
+        apply(user.getId(), List.of(), contributions);
+    }
+
+    private static void addDelta(Map<BucketKey, Delta> deltas, Contribution contribution, int sign) {
+        for (Granularity granularity : Granularity.values()) {
+            BucketKey key = new BucketKey(contribution.exerciseId(), granularity, granularity.periodStart(contribution.date()));
+            Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+            delta.volume += sign * contribution.volume();
+            delta.sets += sign * contribution.sets();
+            delta.reps += sign * contribution.reps();
+            delta.sessions += sign;
+        }
+    }
+
+    private VolumeRollupDto convertToDto(ExerciseVolumeRollup rollup) {
+        VolumeRollupDto dto = new VolumeRollupDto();
+        dto.setPeriodStart(rollup.getPeriodStart());
+        dto.setExerciseId(rollup.getExercise().getId());
+        dto.setExerciseName(rollup.getExercise().getName());
+        dto.setVolume(rollup.getVolume());
+        dto.setSets(rollup.getSets());
+        dto.setReps(rollup.getReps());
+        dto.setSessions(rollup.getSessions());
+        return dto;
+    }
+
+    private record BucketKey(Long exerciseId, Granularity granularity, LocalDate periodStart) {
+        static BucketKey of(ExerciseVolumeRollup rollup) {
+            return new BucketKey(rollup.getExercise().getId(), rollup.getGranularity(), rollup.getPeriodStart());
+        }
+    }
+
+    private static class Delta {
+        double volume;
+        int sets;
+        int reps;
+        int sessions;
+
+        boolean isZero() {
+            return sets == 0 && reps == 0 && sessions == 0 && volume == 0;
+        }
+    }
+
+    // Same rules as ExerciseStats.recordSet: every set counts, only sets with reps and weight add volume
+    private static class Tally {
+        double volume;
+        int sets;
+        int reps;
+
+        void add(Integer setReps, Double weight) {
+            sets++;
+            if (setReps == null || setReps < 1) {
+                return;
+            }
+            reps += setReps;
+            if (weight != null) {
+                volume += setReps * weight;
+            }
+        }
+
+        Contribution toContribution(Long exerciseId, LocalDate date) {
+            return new Contribution(exerciseId, date, volume, sets, reps);
+        }
+    }
+}
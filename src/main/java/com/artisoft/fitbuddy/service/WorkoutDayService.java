@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,21 +34,19 @@ public class WorkoutDayService {
             throw new IllegalArgumentException("Access denied");
         }
 
+        Map<Long, Exercise> exercises = PlannedExercises.resolve(exerciseRepository, exerciseDtos);
         List<WorkoutDayExercise> newExercises = new ArrayList<>();
 
         for (WorkoutDayExerciseDto exerciseDto : exerciseDtos) {
-            Exercise exercise = exerciseRepository.findById(exerciseDto.getExerciseId())
-                    .orElseThrow(() -> new IllegalArgumentException("Exercise not found: " + exerciseDto.getExerciseId()));
-
             WorkoutDayExercise workoutDayExercise = new WorkoutDayExercise();
-            workoutDayExercise.setWorkoutDay(workoutDay);
-            workoutDayExercise.setExercise(exercise);
+            workoutDayExercise.setExercise(exercises.get(exerciseDto.getExerciseId()));
             workoutDayExercise.setOrderIndex(exerciseDto.getOrderIndex());
             workoutDayExercise.setSets(exerciseDto.getSets());
             workoutDayExercise.setRepsPerSet(exerciseDto.getRepsPerSet());
             workoutDayExercise.setRestPeriodBetweenSets(exerciseDto.getRestPeriodBetweenSets());
             workoutDayExercise.setNotes(exerciseDto.getNotes());
 
+            workoutDay.addExercise(workoutDayExercise);
             newExercises.add(workoutDayExercise);
         }
 
@@ -6,11 +6,11 @@ import com.artisoft.fitbuddy.model.*;
 import com.artisoft.fitbuddy.repository.*;
 import com.artisoft.fitbuddy.dto.WorkoutDayDto;
 import com.artisoft.fitbuddy.dto.WorkoutProgramDto;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -19,12 +19,15 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "fitbuddy.service", histogram = true)
 public class WorkoutProgramService {
     private final WorkoutProgramRepository workoutProgramRepository;
     private final UserRepository userRepository;
     private final ExerciseRepository exerciseRepository;
     private final WorkoutDayRepository workoutDayRepository;
     private final WorkoutDayExerciseRepository workoutDayExerciseRepository;
+    private final ExerciseProgressRepository exerciseProgressRepository;
+    private final ProgressLogRepository progressLogRepository;
 
     @Transactional
     public WorkoutProgramDto createWorkoutProgram(WorkoutProgramDto dto, String username) {
@@ -36,19 +39,17 @@ public class WorkoutProgramService {
         program.setDescription(dto.getDescription());
         program.setUser(user);
 
-        // Save the program first to get its ID
-        program = workoutProgramRepository.save(program);
-
-        // Process workout days
+        // Build the whole tree first; saving the program cascades to days and exercises in batched inserts
+        List<WorkoutDayDto> dayDtos = dto.getWorkoutDays() != null ? dto.getWorkoutDays() : List.of();
+        Map<Long, Exercise> exercises = resolveExercises(dayDtos);
         List<WorkoutDay> workoutDays = new ArrayList<>();
-        if (dto.getWorkoutDays() != null) {
-            for (WorkoutDayDto dayDto : dto.getWorkoutDays()) {
-                WorkoutDay day = createWorkoutDay(dayDto, program);
-                workoutDays.add(day);
-            }
+        for (WorkoutDayDto dayDto : dayDtos) {
+            workoutDays.add(createWorkoutDay(dayDto, program, exercises));
         }
         program.setWorkoutDays(workoutDays);
 
+        program = workoutProgramRepository.save(program);
+
         return convertToDto(program);
     }
 
@@ -64,30 +65,48 @@ public class WorkoutProgramService {
         program.setName(dto.getName());
         program.setDescription(dto.getDescription());
 
+        Map<Long, Exercise> exercises = resolveExercises(dto.getWorkoutDays());
+
         // Update existing days and add new ones
         Map<Long, WorkoutDay> existingDays = program.getWorkoutDays().stream()
                 .collect(Collectors.toMap(WorkoutDay::getId, day -> day));
 
         List<WorkoutDay> updatedDays = new ArrayList<>();
+        List<WorkoutDay> newDays = new ArrayList<>();
 
         for (WorkoutDayDto dayDto : dto.getWorkoutDays()) {
             if (dayDto.getId() != null && existingDays.containsKey(dayDto.getId())) {
                 // Update existing day
                 WorkoutDay existingDay = existingDays.get(dayDto.getId());
-                updateWorkoutDay(existingDay, dayDto);
+                updateWorkoutDay(existingDay, dayDto, exercises);
                 updatedDays.add(existingDay);
                 existingDays.remove(dayDto.getId());
             } else {
                 // Create new day
-                WorkoutDay newDay = createWorkoutDay(dayDto, program);
+                WorkoutDay newDay = createWorkoutDay(dayDto, program, exercises);
                 updatedDays.add(newDay);
+                newDays.add(newDay);
             }
         }
 
-        // Remove days that are no longer present
+        // Remove days that are no longer present, keeping what was logged on them
+        if (!existingDays.isEmpty()) {
+            List<Long> removedExercises = existingDays.values().stream()
+                    .flatMap(day -> day.getWorkoutExercises().stream())
+                    .map(WorkoutDayExercise::getId)
+                    .toList();
+            if (!removedExercises.isEmpty()) {
+                exerciseProgressRepository.pinPlannedExercises(removedExercises);
+                exerciseProgressRepository.detachWorkoutDayExercises(removedExercises);
+            }
+            progressLogRepository.detachWorkoutDays(existingDays.keySet());
+        }
         existingDays.values().forEach(day -> workoutDayRepository.delete(day));
+        workoutDayRepository.saveAll(newDays);
 
-        program.setWorkoutDays(updatedDays);
+        // Keep the managed collection; replacing it breaks orphan removal on flush
+        program.getWorkoutDays().clear();
+        program.getWorkoutDays().addAll(updatedDays);
         program = workoutProgramRepository.save(program);
 
         return convertToDto(program);
@@ -109,7 +128,7 @@ public class WorkoutProgramService {
                 .orElseThrow(() -> new IllegalArgumentException("Workout day not found"));
 
         // Use existing updateWorkoutDay method
-        updateWorkoutDay(existingDay, workoutDayDto);
+        updateWorkoutDay(existingDay, workoutDayDto, resolveExercises(List.of(workoutDayDto)));
 
         // Save the program to persist changes
         program = workoutProgramRepository.save(program);
@@ -122,9 +141,7 @@ public class WorkoutProgramService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        return workoutProgramRepository.findByUserId(user.getId()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(workoutProgramRepository.findByUserId(user.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -156,18 +173,13 @@ public class WorkoutProgramService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        List<Object[]> results = workoutProgramRepository.findProgramsWithLastLogDate(user.getId());
-
-        return results.stream()
-                .map(result -> {
-                    WorkoutProgram program = (WorkoutProgram) result[0];
-                    LocalDate lastLogDate = (LocalDate) result[1];
-
+        return workoutProgramRepository.findProgramsWithLogs(user.getId()).stream()
+                .map(program -> {
                     WorkoutProgramWithLogsDto dto = new WorkoutProgramWithLogsDto();
                     dto.setId(program.getId());
                     dto.setName(program.getName());
                     dto.setDescription(program.getDescription());
-                    dto.setLastLogDate(lastLogDate);
+                    dto.setLastLogDate(program.getLastLogDate());
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -178,76 +190,118 @@ public class WorkoutProgramService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        List<WorkoutProgram> programs = workoutProgramRepository.findProgramsWithoutLogs(user.getId());
+        return convertToDtos(workoutProgramRepository.findProgramsWithoutLogs(user.getId()));
+    }
 
-        return programs.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    // Loads every exercise referenced by the days in one query
+    private Map<Long, Exercise> resolveExercises(List<WorkoutDayDto> dayDtos) {
+        return PlannedExercises.resolve(exerciseRepository, dayDtos.stream()
+                .filter(dayDto -> dayDto.getExercises() != null)
+                .flatMap(dayDto -> dayDto.getExercises().stream())
+                .toList());
     }
 
-    private WorkoutDay createWorkoutDay(WorkoutDayDto dayDto, WorkoutProgram program) {
+    // Not saved here: callers persist the day, which cascades to its exercises
+    private WorkoutDay createWorkoutDay(WorkoutDayDto dayDto, WorkoutProgram program, Map<Long, Exercise> exercises) {
         WorkoutDay day = new WorkoutDay();
         day.setDayOfWeek(WorkoutDay.DayOfWeek.valueOf(dayDto.getDayOfWeek()));
         day.setWorkoutProgram(program);
-        day = workoutDayRepository.save(day);
 
-        List<WorkoutDayExercise> exercises = new ArrayList<>();
         if (dayDto.getExercises() != null) {
             for (WorkoutDayExerciseDto exerciseDto : dayDto.getExercises()) {
-                Exercise exercise = exerciseRepository.findById(exerciseDto.getExerciseId())
-                        .orElseThrow(() -> new IllegalArgumentException(
-                                "Exercise not found: " + exerciseDto.getExerciseId()));
-
                 WorkoutDayExercise workoutDayExercise = new WorkoutDayExercise();
-                workoutDayExercise.setWorkoutDay(day);
-                workoutDayExercise.setExercise(exercise);
-                workoutDayExercise.setOrderIndex(exerciseDto.getOrderIndex());
-                workoutDayExercise.setSets(exerciseDto.getSets() != null ?
-                        exerciseDto.getSets() : exercise.getDefaultSets());
-                workoutDayExercise.setRepsPerSet(exerciseDto.getRepsPerSet() != null ?
-                        exerciseDto.getRepsPerSet() : exercise.getDefaultRepsPerSet());
-                workoutDayExercise.setRestPeriodBetweenSets(exerciseDto.getRestPeriodBetweenSets() != null ?
-                        exerciseDto.getRestPeriodBetweenSets() : exercise.getDefaultRestPeriodBetweenSets());
-                workoutDayExercise.setNotes(exerciseDto.getNotes());
-
-                exercises.add(workoutDayExercise);
+                workoutDayExercise.setExercise(exercises.get(exerciseDto.getExerciseId()));
+                applyPlan(workoutDayExercise, exerciseDto);
+                day.addExercise(workoutDayExercise);
             }
         }
 
-        exercises = workoutDayExerciseRepository.saveAll(exercises);
-        day.setWorkoutExercises(exercises);
-
         return day;
     }
 
-    private void updateWorkoutDay(WorkoutDay existingDay, WorkoutDayDto dayDto) {
+    private void updateWorkoutDay(WorkoutDay existingDay, WorkoutDayDto dayDto, Map<Long, Exercise> exercises) {
         existingDay.setDayOfWeek(WorkoutDay.DayOfWeek.valueOf(dayDto.getDayOfWeek()));
 
-        // Create new exercises list
-        List<WorkoutDayExercise> updatedExercises = new ArrayList<>();
+        // Merge by id so unchanged rows cost no writes and keep the ids logged progress refers to
+        Map<Long, WorkoutDayExercise> removed = existingDay.getWorkoutExercises().stream()
+                .collect(Collectors.toMap(WorkoutDayExercise::getId, wde -> wde));
+        List<WorkoutDayExercise> added = new ArrayList<>();
+
         for (WorkoutDayExerciseDto exerciseDto : dayDto.getExercises()) {
-            Exercise exercise = exerciseRepository.findById(exerciseDto.getExerciseId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Exercise not found: " + exerciseDto.getExerciseId()));
+            WorkoutDayExercise current = exerciseDto.getId() != null ? removed.get(exerciseDto.getId()) : null;
+
+            // A row switched to another exercise is replaced, so earlier logs stay with what was performed
+            if (current != null && current.getExercise().getId().equals(exerciseDto.getExerciseId())) {
+                applyPlan(current, exerciseDto);
+                removed.remove(current.getId());
+                continue;
+            }
 
             WorkoutDayExercise workoutDayExercise = new WorkoutDayExercise();
-            workoutDayExercise.setExercise(exercise);
-            workoutDayExercise.setOrderIndex(exerciseDto.getOrderIndex());
-            workoutDayExercise.setSets(exerciseDto.getSets() != null ?
-                    exerciseDto.getSets() : exercise.getDefaultSets());
-            workoutDayExercise.setRepsPerSet(exerciseDto.getRepsPerSet() != null ?
-                    exerciseDto.getRepsPerSet() : exercise.getDefaultRepsPerSet());
-            workoutDayExercise.setRestPeriodBetweenSets(exerciseDto.getRestPeriodBetweenSets() != null ?
-                    exerciseDto.getRestPeriodBetweenSets() : exercise.getDefaultRestPeriodBetweenSets());
-            workoutDayExercise.setNotes(exerciseDto.getNotes());
-
-            updatedExercises.add(workoutDayExercise);
+            workoutDayExercise.setExercise(exercises.get(exerciseDto.getExerciseId()));
+            applyPlan(workoutDayExercise, exerciseDto);
+            added.add(workoutDayExercise);
+        }
+
+        if (!removed.isEmpty()) {
+            // Runs before the orphaned rows are deleted at flush
+            exerciseProgressRepository.pinPlannedExercises(removed.keySet());
+            exerciseProgressRepository.detachWorkoutDayExercises(removed.keySet());
+            existingDay.getWorkoutExercises().removeIf(wde -> removed.containsKey(wde.getId()));
+        }
+
+        added.forEach(existingDay::addExercise);
+        workoutDayExerciseRepository.saveAll(added);
+    }
+
+    private void applyPlan(WorkoutDayExercise workoutDayExercise, WorkoutDayExerciseDto exerciseDto) {
+        Exercise exercise = workoutDayExercise.getExercise();
+        workoutDayExercise.setOrderIndex(exerciseDto.getOrderIndex());
+        workoutDayExercise.setSets(exerciseDto.getSets() != null ?
+                exerciseDto.getSets() : exercise.getDefaultSets());
+        workoutDayExercise.setRepsPerSet(exerciseDto.getRepsPerSet() != null ?
+                exerciseDto.getRepsPerSet() : exercise.getDefaultRepsPerSet());
+        workoutDayExercise.setRestPeriodBetweenSets(exerciseDto.getRestPeriodBetweenSets() != null ?
+                exerciseDto.getRestPeriodBetweenSets() : exercise.getDefaultRestPeriodBetweenSets());
+        workoutDayExercise.setNotes(exerciseDto.getNotes());
+    }
+
+    // Loads the days and exercises of all programs with one query each instead of walking the lazy collections
+    private List<WorkoutProgramDto> convertToDtos(List<WorkoutProgram> programs) {
+        if (programs.isEmpty()) {
+            return List.of();
         }
 
-        // Use the helper method to update the exercises
-        existingDay.setWorkoutExercises(updatedExercises);
+        List<WorkoutDay> days = workoutDayRepository.findByWorkoutProgramIdIn(
+                programs.stream().map(WorkoutProgram::getId).toList());
+        Map<Long, List<WorkoutDayExerciseDto>> exercisesByDay = days.isEmpty() ? Map.of() :
+                workoutDayExerciseRepository.findAllWithExerciseByWorkoutDayIdIn(
+                                days.stream().map(WorkoutDay::getId).toList()).stream()
+                        .sorted(Comparator.comparing(WorkoutDayExercise::getOrderIndex))
+                        .collect(Collectors.groupingBy(wde -> wde.getWorkoutDay().getId(),
+                                Collectors.mapping(this::convertToWorkoutDayExerciseDto, Collectors.toList())));
 
-        // The save will happen through the transaction in the calling method
+        Map<Long, List<WorkoutDayDto>> daysByProgram = days.stream()
+                .sorted(Comparator.comparing(day -> day.getDayOfWeek().ordinal()))
+                .collect(Collectors.groupingBy(day -> day.getWorkoutProgram().getId(),
+                        Collectors.mapping(day -> {
+                            WorkoutDayDto dayDto = new WorkoutDayDto();
+                            dayDto.setId(day.getId());
+                            dayDto.setDayOfWeek(day.getDayOfWeek().name());
+                            dayDto.setExercises(exercisesByDay.getOrDefault(day.getId(), new ArrayList<>()));
+                            return dayDto;
+                        }, Collectors.toList())));
+
+        return programs.stream()
+                .map(program -> {
+                    WorkoutProgramDto dto = new WorkoutProgramDto();
+                    dto.setId(program.getId());
+                    dto.setName(program.getName());
+                    dto.setDescription(program.getDescription());
+                    dto.setWorkoutDays(daysByProgram.getOrDefault(program.getId(), new ArrayList<>()));
+                    return dto;
+                })
+                .collect(Collectors.toList());
     }
 
     private WorkoutProgramDto convertToDto(WorkoutProgram program) {
@@ -0,0 +1,3 @@
+-- Set when the exercise an entry was performed as is deleted. The entry keeps the planned slot it
+-- filled, but no longer counts towards any exercise's stats or rollups.
+ALTER TABLE exercise_progresses ADD COLUMN replacement_removed BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,18 @@
+-- Pooled sequences for progress logs and exercise progresses so Hibernate can batch inserts.
+-- Hibernate's pooled optimizer treats each value as the upper bound of a block of 50 ids,
+-- so the first value must sit at least 50 above the current maximum id.
+CREATE SEQUENCE progress_log_seq INCREMENT BY 50;
+CREATE SEQUENCE exercise_progress_seq INCREMENT BY 50;
+
+SELECT setval('progress_log_seq', COALESCE(MAX(id), 0) + 50, false) FROM progress_logs;
+SELECT setval('exercise_progress_seq', COALESCE(MAX(id), 0) + 50, false) FROM exercise_progresses;
+
+-- Raw SQL inserts draw from the same sequences; a value handed out by nextval is never
+-- part of a block Hibernate allocates, so both paths can be mixed safely.
+ALTER TABLE progress_logs ALTER COLUMN id SET DEFAULT nextval('progress_log_seq');
+ALTER TABLE exercise_progresses ALTER COLUMN id SET DEFAULT nextval('exercise_progress_seq');
+ALTER SEQUENCE progress_log_seq OWNED BY progress_logs.id;
+ALTER SEQUENCE exercise_progress_seq OWNED BY exercise_progresses.id;
+
+DROP SEQUENCE progress_logs_id_seq;
+DROP SEQUENCE exercise_progresses_id_seq;
@@ -0,0 +1,4 @@
+-- Supports keyset pagination of a program's history ordered by (date DESC, id DESC).
+-- The new index covers every lookup idx_progress_log_workout served, so that one is dropped.
+CREATE INDEX idx_progress_log_program_date_id ON progress_logs(workout_program_id, date DESC, id DESC);
+DROP INDEX idx_progress_log_workout;
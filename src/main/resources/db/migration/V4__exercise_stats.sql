@@ -0,0 +1,67 @@
+-- Per user x exercise personal records and volume, maintained by the application on every log write.
+-- Ids come from a pooled sequence so Hibernate can batch inserts, as in V2__progress_log_sequences.sql.
+CREATE SEQUENCE exercise_stats_seq INCREMENT BY 50;
+
+CREATE TABLE exercise_stats (
+    id BIGINT PRIMARY KEY DEFAULT nextval('exercise_stats_seq'),
+    user_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    max_weight DOUBLE PRECISION,
+    best_set_reps INTEGER,
+    best_set_weight DOUBLE PRECISION,
+    estimated_one_rep_max DOUBLE PRECISION,
+    total_volume DOUBLE PRECISION NOT NULL DEFAULT 0,
+    total_sets INTEGER NOT NULL DEFAULT 0,
+    last_performed DATE,
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES app_user (id) ON DELETE CASCADE,
+    FOREIGN KEY (exercise_id) REFERENCES exercises (id) ON DELETE CASCADE,
+    CONSTRAINT uk_exercise_stats_user_exercise UNIQUE (user_id, exercise_id)
+);
+
+ALTER SEQUENCE exercise_stats_seq OWNED BY exercise_stats.id;
+
+CREATE INDEX idx_exercise_stats_exercise ON exercise_stats(exercise_id);
+
+-- Backfill from existing history with the same rules as ExerciseStats.recordSet:
+-- skipped exercises are ignored, sets without reps or weight count as sets but not towards records,
+-- estimated 1RM is Epley (the weight itself for single reps)
+WITH performed_sets AS (
+    SELECT wp.user_id,
+           COALESCE(ep.replacement_exercise_id, wde.exercise_id) AS exercise_id,
+           pl.date,
+           sd.reps_per_set AS reps,
+           sd.weight_per_set AS weight,
+           CASE
+               WHEN sd.reps_per_set IS NULL OR sd.reps_per_set < 1 OR sd.weight_per_set IS NULL THEN NULL
+               WHEN sd.reps_per_set = 1 THEN sd.weight_per_set
+               ELSE sd.weight_per_set * (1 + sd.reps_per_set / 30.0)
+           END AS one_rep_max
+    FROM exercise_progress_set_details sd
+    JOIN exercise_progresses ep ON ep.id = sd.exercise_progress_id
+    JOIN progress_logs pl ON pl.id = ep.progress_log_id
+    JOIN workout_programs wp ON wp.id = pl.workout_program_id
+    LEFT JOIN workout_day_exercises wde ON wde.id = ep.workout_day_exercise_id
+    WHERE ep.skipped = FALSE
+),
+best_sets AS (
+    SELECT DISTINCT ON (user_id, exercise_id) user_id, exercise_id, reps, weight, one_rep_max
+    FROM performed_sets
+    WHERE one_rep_max IS NOT NULL
+    ORDER BY user_id, exercise_id, one_rep_max DESC
+)
+INSERT INTO exercise_stats (user_id, exercise_id, max_weight, best_set_reps, best_set_weight,
+                            estimated_one_rep_max, total_volume, total_sets, last_performed)
+SELECT ps.user_id,
+       ps.exercise_id,
+       MAX(CASE WHEN ps.one_rep_max IS NOT NULL THEN ps.weight END),
+       bs.reps,
+       bs.weight,
+       bs.one_rep_max,
+       COALESCE(SUM(CASE WHEN ps.one_rep_max IS NOT NULL THEN ps.reps * ps.weight END), 0),
+       COUNT(*),
+       MAX(ps.date)
+FROM performed_sets ps
+LEFT JOIN best_sets bs ON bs.user_id = ps.user_id AND bs.exercise_id = ps.exercise_id
+WHERE ps.exercise_id IS NOT NULL
+GROUP BY ps.user_id, ps.exercise_id, bs.reps, bs.weight, bs.one_rep_max;
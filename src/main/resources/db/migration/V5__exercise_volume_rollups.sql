@@ -0,0 +1,61 @@
+-- Per user x exercise training volume by day, ISO week and month, maintained on every log write.
+-- Ids come from a pooled sequence so Hibernate can batch inserts, as in V2__progress_log_sequences.sql.
+CREATE SEQUENCE exercise_volume_rollup_seq INCREMENT BY 50;
+
+CREATE TABLE exercise_volume_rollups (
+    id BIGINT PRIMARY KEY DEFAULT nextval('exercise_volume_rollup_seq'),
+    user_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    volume DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sets INTEGER NOT NULL DEFAULT 0,
+    reps INTEGER NOT NULL DEFAULT 0,
+    sessions INTEGER NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES app_user (id) ON DELETE CASCADE,
+    FOREIGN KEY (exercise_id) REFERENCES exercises (id) ON DELETE CASCADE,
+    -- Also serves the chart range scans on (user_id, granularity, period_start)
+    CONSTRAINT uk_exercise_volume_rollups_bucket UNIQUE (user_id, granularity, period_start, exercise_id)
+);
+
+ALTER SEQUENCE exercise_volume_rollup_seq OWNED BY exercise_volume_rollups.id;
+
+CREATE INDEX idx_exercise_volume_rollups_exercise ON exercise_volume_rollups(exercise_id);
+
+-- Backfill with the same rules as VolumeRollupService: skipped exercises are ignored, every set counts,
+-- only sets with reps add to reps and only sets with reps and weight add volume.
+-- date_trunc('week') starts weeks on Monday, matching Granularity.WEEK.
+WITH exercise_sessions AS (
+    SELECT wp.user_id,
+           COALESCE(ep.replacement_exercise_id, wde.exercise_id) AS exercise_id,
+           pl.id AS log_id,
+           pl.date,
+           SUM(CASE WHEN sd.reps_per_set >= 1 AND sd.weight_per_set IS NOT NULL
+                    THEN sd.reps_per_set * sd.weight_per_set ELSE 0 END) AS volume,
+           COUNT(*) AS sets,
+           SUM(CASE WHEN sd.reps_per_set >= 1 THEN sd.reps_per_set ELSE 0 END) AS reps
+    FROM exercise_progress_set_details sd
+    JOIN exercise_progresses ep ON ep.id = sd.exercise_progress_id
+    JOIN progress_logs pl ON pl.id = ep.progress_log_id
+    JOIN workout_programs wp ON wp.id = pl.workout_program_id
+    LEFT JOIN workout_day_exercises wde ON wde.id = ep.workout_day_exercise_id
+    WHERE ep.skipped = FALSE
+    GROUP BY wp.user_id, COALESCE(ep.replacement_exercise_id, wde.exercise_id), pl.id, pl.date
+),
+bucketed AS (
+    SELECT s.*,
+           g.granularity,
+           CASE g.granularity
+               WHEN 'DAY' THEN s.date
+               WHEN 'WEEK' THEN CAST(date_trunc('week', s.date) AS DATE)
+               ELSE CAST(date_trunc('month', s.date) AS DATE)
+           END AS period_start
+    FROM exercise_sessions s
+    CROSS JOIN (VALUES ('DAY'), ('WEEK'), ('MONTH')) AS g(granularity)
+    WHERE s.exercise_id IS NOT NULL
+)
+INSERT INTO exercise_volume_rollups (user_id, exercise_id, granularity, period_start, volume, sets, reps, sessions)
+SELECT user_id, exercise_id, granularity, period_start, SUM(volume), SUM(sets), SUM(reps), COUNT(*)
+FROM bucketed
+GROUP BY user_id, exercise_id, granularity, period_start;
@@ -0,0 +1,6 @@
+-- Trigram index so exercise name search (ILIKE '%...%' and word similarity) avoids a sequential scan
+-- on large shared catalogs. Creating the extension needs a role allowed to do so (superuser or, from
+-- PostgreSQL 13, a database owner since pg_trgm is a trusted extension).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_exercises_name_trgm ON exercises USING GIN (name gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- Keyset pagination of the exercise listing orders by LOWER(name), id
+CREATE INDEX idx_exercises_lower_name_id ON exercises (LOWER(name), id);
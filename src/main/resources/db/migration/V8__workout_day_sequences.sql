@@ -0,0 +1,15 @@
+-- Pooled sequences for workout days and their exercises so a program and its whole plan
+-- can be inserted in batches. Same scheme as V2__progress_log_sequences.sql.
+CREATE SEQUENCE workout_day_seq INCREMENT BY 50;
+CREATE SEQUENCE workout_day_exercise_seq INCREMENT BY 50;
+
+SELECT setval('workout_day_seq', COALESCE(MAX(id), 0) + 50, false) FROM workout_days;
+SELECT setval('workout_day_exercise_seq', COALESCE(MAX(id), 0) + 50, false) FROM workout_day_exercises;
+
+ALTER TABLE workout_days ALTER COLUMN id SET DEFAULT nextval('workout_day_seq');
+ALTER TABLE workout_day_exercises ALTER COLUMN id SET DEFAULT nextval('workout_day_exercise_seq');
+ALTER SEQUENCE workout_day_seq OWNED BY workout_days.id;
+ALTER SEQUENCE workout_day_exercise_seq OWNED BY workout_day_exercises.id;
+
+DROP SEQUENCE workout_days_id_seq;
+DROP SEQUENCE workout_day_exercises_id_seq;
@@ -0,0 +1,17 @@
+-- Last log date and log count per program, maintained by progress log writes so program
+-- listings don't aggregate progress_logs on every read.
+ALTER TABLE workout_programs ADD COLUMN last_log_date DATE;
+ALTER TABLE workout_programs ADD COLUMN log_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE workout_programs wp
+SET last_log_date = activity.last_log_date,
+    log_count = activity.log_count
+FROM (
+    SELECT workout_program_id, MAX(date) AS last_log_date, COUNT(*) AS log_count
+    FROM progress_logs
+    GROUP BY workout_program_id
+) activity
+WHERE activity.workout_program_id = wp.id;
+
+-- Serves both listings: programs with logs by last log date, and programs without any
+CREATE INDEX idx_workout_programs_user_last_log ON workout_programs (user_id, last_log_date DESC);
@@ -0,0 +1,161 @@
+package com.artisoft.fitbuddy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares throughput and p99 latency of {@code GET /api/workout-programs} with 1,000 concurrent clients,
+ * once on Tomcat's platform thread pool and once with {@code spring.threads.virtual.enabled}, against a real
+ * PostgreSQL. Skipped when Docker is not available.
+ */
+@Tag("benchmark")
+@EnabledIf("dockerAvailable")
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int CLIENTS = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private record Result(double requestsPerSecond, double p99Ms, int failures) {
+    }
+
+    static boolean dockerAvailable() {
+        return DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @BeforeAll
+    static void startDatabase() {
+        POSTGRES.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        POSTGRES.stop();
+    }
+
+    @Test
+    @DisplayName("platform vs virtual request threads at 1k concurrent clients")
+    void compareExecutionModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        String timings = String.format("%d clients x %d requests, platform threads: %.0f req/s, p99 %.1f ms; "
+                        + "virtual threads: %.0f req/s, p99 %.1f ms", CLIENTS, REQUESTS_PER_CLIENT,
+                platform.requestsPerSecond(), platform.p99Ms(), virtual.requestsPerSecond(), virtual.p99Ms());
+        assertEquals(0, platform.failures(), timings);
+        assertEquals(0, virtual.failures(), timings);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FitbuddyApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                        "spring.datasource.username=" + POSTGRES.getUsername(),
+                        "spring.datasource.password=" + POSTGRES.getPassword(),
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "app.jwtSecret=load-benchmark-secret-that-is-long-enough-for-an-hmac-sha-512-signing-key",
+                        "app.jwtExpirationInMs=3600000",
+                        "logging.level.root=WARN")
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = signUp(baseUrl, virtualThreads ? "virtual" : "platform");
+            createProgram(baseUrl, token);
+
+            // Warm up the JIT, the connection pool and the caches first
+            load(baseUrl, token, 50, 10);
+            return load(baseUrl, token, CLIENTS, REQUESTS_PER_CLIENT);
+        }
+    }
+
+    private Result load(String baseUrl, String token, int clients, int requestsPerClient) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/workout-programs"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long begin;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                executor.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[client * requestsPerClient + r] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            begin = System.nanoTime();
+            start.countDown();
+        }
+        double elapsedSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+        return new Result(latencies.length / elapsedSeconds, p99 / 1_000_000.0, failures.get());
+    }
+
+    private String signUp(String baseUrl, String username) throws Exception {
+        HttpResponse<String> response = post(baseUrl + "/api/auth/signup", null, Map.of(
+                "username", username, "password", "secret123", "email", username + "@example.com"));
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private void createProgram(String baseUrl, String token) throws Exception {
+        post(baseUrl + "/api/workout-programs", token, Map.of(
+                "name", "Load test",
+                "workoutDays", List.of(Map.of("dayOfWeek", "MONDAY", "exercises", List.of()))));
+    }
+
+    private HttpResponse<String> post(String url, String token, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(2, response.statusCode() / 100, response.body());
+        return response;
+    }
+}
@@ -1,16 +1,21 @@
 package com.artisoft.fitbuddy.controller;
 
 import com.artisoft.fitbuddy.config.TestSecurityConfig;
+import com.artisoft.fitbuddy.dto.CursorPage;
+import com.artisoft.fitbuddy.dto.ExerciseDeleteReport;
 import com.artisoft.fitbuddy.dto.ExerciseDto;
 import com.artisoft.fitbuddy.dto.ExerciseSearchCriteria;
+import com.artisoft.fitbuddy.dto.ExerciseStatsDto;
 import com.artisoft.fitbuddy.dto.ExerciseUsageDto;
 import com.artisoft.fitbuddy.security.JwtTokenProvider;
 import com.artisoft.fitbuddy.service.ExerciseService;
+import com.artisoft.fitbuddy.service.ExerciseStatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -27,6 +32,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -52,6 +59,9 @@ class ExerciseControllerTest {
     @MockBean
     private ExerciseService exerciseService;
 
+    @MockBean
+    private ExerciseStatsService exerciseStatsService;
+
     @MockBean
     private JwtTokenProvider tokenProvider;
 
@@ -95,14 +105,14 @@ class ExerciseControllerTest {
         @DisplayName("should return matching exercises when search criteria provided")
         void searchExercisesWithCriteria() throws Exception {
             when(exerciseService.searchExercises(any(ExerciseSearchCriteria.class), eq(TEST_USERNAME)))
-                    .thenReturn(exerciseList);
+                    .thenReturn(new CursorPage<>(exerciseList, null));
 
             mockMvc.perform(get("/api/exercises")
                             .param("name", "Squat"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].name").value(exercise1.getName()))
-                    .andExpect(jsonPath("$[1].name").value(exercise2.getName()));
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].name").value(exercise1.getName()))
+                    .andExpect(jsonPath("$.items[1].name").value(exercise2.getName()));
         }
 
         @Test
@@ -110,12 +120,36 @@ class ExerciseControllerTest {
         @DisplayName("should return empty list when no exercises match criteria")
         void searchExercisesNoMatches() throws Exception {
             when(exerciseService.searchExercises(any(ExerciseSearchCriteria.class), eq(TEST_USERNAME)))
-                    .thenReturn(Collections.emptyList());
+                    .thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
             mockMvc.perform(get("/api/exercises")
                             .param("name", "NonExistent"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$", hasSize(0)));
+                    .andExpect(jsonPath("$.items", hasSize(0)));
+        }
+
+        @Test
+        @WithMockUser(username = TEST_USERNAME)
+        @DisplayName("should bind paging parameters and return the next cursor")
+        void listExercisesPage() throws Exception {
+            when(exerciseService.searchExercises(any(ExerciseSearchCriteria.class), eq(TEST_USERNAME)))
+                    .thenReturn(new CursorPage<>(List.of(exercise1), "next"));
+
+            mockMvc.perform(get("/api/exercises")
+                            .param("standaloneOnly", "true")
+                            .param("sort", "ID")
+                            .param("size", "1")
+                            .param("cursor", "abc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(1)))
+                    .andExpect(jsonPath("$.nextCursor").value("next"));
+
+            ArgumentCaptor<ExerciseSearchCriteria> criteria = ArgumentCaptor.forClass(ExerciseSearchCriteria.class);
+            verify(exerciseService).searchExercises(criteria.capture(), eq(TEST_USERNAME));
+            assertEquals(ExerciseSearchCriteria.SortOrder.ID, criteria.getValue().getSort());
+            assertEquals(1, criteria.getValue().getSize());
+            assertEquals("abc", criteria.getValue().getCursor());
+            assertTrue(criteria.getValue().getStandaloneOnly());
         }
 
         @Test
@@ -366,10 +400,16 @@ class ExerciseControllerTest {
         @WithMockUser(username = TEST_USERNAME)
         @DisplayName("should successfully delete multiple exercises")
         void deleteMultipleExercises() throws Exception {
+            when(exerciseService.deleteExercises(exerciseIds, TEST_USERNAME))
+                    .thenReturn(new ExerciseDeleteReport(3, 2, 5));
+
             mockMvc.perform(delete("/api/exercises")
                             .with(csrf())
                             .param("ids", "1", "2", "3"))
-                    .andExpect(status().isNoContent());
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deletedExercises").value(3))
+                    .andExpect(jsonPath("$.deletedPlannedExercises").value(2))
+                    .andExpect(jsonPath("$.detachedProgressEntries").value(5));
 
             verify(exerciseService).deleteExercises(exerciseIds, TEST_USERNAME);
         }
@@ -468,5 +508,60 @@ class ExerciseControllerTest {
                     .andExpect(status().isBadRequest())
                     .andExpect(content().string("Exercise not found"));
         }
+
+        @Test
+        @WithMockUser(username = TEST_USERNAME)
+        @DisplayName("should return usage info for several exercises at once")
+        void getExerciseUsages() throws Exception {
+            ExerciseUsageDto unused = new ExerciseUsageDto();
+            unused.setExerciseId(2L);
+            unused.setExerciseName("Deadlift");
+            unused.setPrograms(Collections.emptyList());
+            when(exerciseService.getExerciseUsages(List.of(TEST_EXERCISE_ID, 2L), TEST_USERNAME))
+                    .thenReturn(List.of(usageInfo, unused));
+
+            mockMvc.perform(get("/api/exercises/usage")
+                            .param("ids", "1", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].programs[0].days", hasSize(1)))
+                    .andExpect(jsonPath("$[1].programs", hasSize(0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/exercises/{id}/stats")
+    class GetExerciseStats {
+
+        @Test
+        @WithMockUser(username = TEST_USERNAME)
+        @DisplayName("should return personal records for the exercise")
+        void getExistingExerciseStats() throws Exception {
+            ExerciseStatsDto stats = new ExerciseStatsDto();
+            stats.setExerciseId(TEST_EXERCISE_ID);
+            stats.setExerciseName(TEST_EXERCISE_NAME);
+            stats.setMaxWeight(120.0);
+            stats.setEstimatedOneRepMax(132.0);
+            when(exerciseStatsService.getExerciseStats(TEST_EXERCISE_ID, TEST_USERNAME))
+                    .thenReturn(stats);
+
+            mockMvc.perform(get("/api/exercises/{id}/stats", TEST_EXERCISE_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.exerciseName").value(TEST_EXERCISE_NAME))
+                    .andExpect(jsonPath("$.maxWeight").value(120.0))
+                    .andExpect(jsonPath("$.estimatedOneRepMax").value(132.0));
+        }
+
+        @Test
+        @WithMockUser(username = TEST_USERNAME)
+        @DisplayName("should return 400 when the exercise was never logged")
+        void getMissingExerciseStats() throws Exception {
+            when(exerciseStatsService.getExerciseStats(TEST_EXERCISE_ID, TEST_USERNAME))
+                    .thenThrow(new IllegalArgumentException("Exercise stats not found"));
+
+            mockMvc.perform(get("/api/exercises/{id}/stats", TEST_EXERCISE_ID))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Exercise stats not found"));
+        }
     }
-}
\ No newline at end of file
+}
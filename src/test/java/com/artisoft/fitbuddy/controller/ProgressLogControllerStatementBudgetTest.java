@@ -0,0 +1,124 @@
+package com.artisoft.fitbuddy.controller;
+
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.metrics.MaxStatements;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.service.ProgressLogService;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the progress log endpoints against the real services and an in-memory database, with a
+ * {@link MaxStatements} budget so lazy loads per log or per exercise fail the build.
+ */
+@SpringBootTest(properties = {
+        "app.jwtSecret=pSwngYFd3hunOFWq2jNASE713ptCQ5/TGx/LUtrCfwc=",
+        "app.jwtExpirationInMs=86400000",
+        "spring.datasource.url=jdbc:h2:mem:statement-budget",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "logging.level.org.hibernate=ERROR"
+})
+@AutoConfigureMockMvc
+@Transactional
+class ProgressLogControllerStatementBudgetTest {
+
+    private static final String TEST_USERNAME = "lifter";
+    private static final int LOGS = 20;
+    private static final int EXERCISES = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProgressLogService progressLogService;
+
+    private WorkoutProgram program;
+
+    @BeforeEach
+    void setUp() {
+        TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+        program = fixtures.program(fixtures.user(TEST_USERNAME), "Strength");
+        WorkoutDay day = fixtures.day(program, WorkoutDay.DayOfWeek.MONDAY);
+
+        List<WorkoutDayExercise> planned = new ArrayList<>();
+        for (int i = 0; i < EXERCISES; i++) {
+            planned.add(fixtures.plannedExercise(day, fixtures.exercise("Exercise " + i), i, 3, 5));
+        }
+
+        for (int i = 0; i < LOGS; i++) {
+            progressLogService.createProgressLog(log(day, planned, LocalDate.of(2024, 1, 1).plusDays(i)), TEST_USERNAME);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should page program logs with their exercises in a constant number of statements")
+    @MaxStatements(4)
+    @WithMockUser(username = TEST_USERNAME)
+    void pagesLogsWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/progress-logs/program/{programId}", program.getId()).param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(LOGS))
+                .andExpect(jsonPath("$.items[0].exerciseProgresses.length()").value(EXERCISES));
+    }
+
+    @Test
+    @DisplayName("should list log summaries in a constant number of statements")
+    @MaxStatements(2)
+    @WithMockUser(username = TEST_USERNAME)
+    void listsSummariesWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/progress-logs")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(LOGS));
+    }
+
+    private ProgressLogDto log(WorkoutDay day, List<WorkoutDayExercise> planned, LocalDate date) {
+        List<ExerciseProgressDto> progresses = new ArrayList<>();
+        for (WorkoutDayExercise wde : planned) {
+            ExerciseProgressDto progress = new ExerciseProgressDto();
+            progress.setOrderIndex(wde.getOrderIndex());
+            progress.setWorkoutDayExerciseId(wde.getId());
+            progress.setActualSets(3);
+            progress.setRepsPerSet(List.of(5, 5, 5));
+            progress.setWeightPerSet(List.of(60.0, 60.0, 60.0));
+            progress.setCompleted(true);
+            progresses.add(progress);
+        }
+
+        ProgressLogDto dto = new ProgressLogDto();
+        dto.setDate(date);
+        dto.setWorkoutProgramId(program.getId());
+        dto.setWorkoutDayId(day.getId());
+        dto.setExerciseProgresses(progresses);
+        return dto;
+    }
+}
@@ -1,6 +1,9 @@
 package com.artisoft.fitbuddy.controller;
 
+import com.artisoft.fitbuddy.dto.CursorPage;
 import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.service.ProgressLogExportService;
+import com.artisoft.fitbuddy.service.ProgressLogImportService;
 import com.artisoft.fitbuddy.service.ProgressLogService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -10,12 +13,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +41,12 @@ class ProgressLogControllerTest {
     @MockBean
     private ProgressLogService progressLogService;
 
+    @MockBean
+    private ProgressLogExportService progressLogExportService;
+
+    @MockBean
+    private ProgressLogImportService progressLogImportService;
+
     @Test
     @WithMockUser(username = "testuser")
     void createProgressLog_ValidLog_ReturnsCreatedLog() throws Exception {
@@ -90,6 +105,94 @@ class ProgressLogControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProgramLogs_WithCursorAndSize_ReturnsCursorPage() throws Exception {
+        // Given
+        ProgressLogDto log = createSampleProgressLogDto();
+        when(progressLogService.getProgressLogs(7L, "abc", 1, "testuser"))
+                .thenReturn(new CursorPage<>(List.of(log), "next"));
+
+        // When & Then
+        mockMvc.perform(get("/api/progress-logs/program/7")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(log.getId()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProgramLogs_LastPage_ReturnsNullCursor() throws Exception {
+        // Given
+        when(progressLogService.getProgressLogs(7L, null, null, "testuser"))
+                .thenReturn(new CursorPage<>(List.of(createSampleProgressLogDto()), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/progress-logs/program/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProgramLogs_MalformedCursor_ReturnsBadRequest() throws Exception {
+        // Given
+        when(progressLogService.getProgressLogs(7L, "not-a-cursor", null, "testuser"))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/progress-logs/program/7").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid cursor"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProgramLogSummaries_SizeBelowOne_ReturnsBadRequest() throws Exception {
+        // Given
+        when(progressLogService.getProgressLogSummaries(7L, null, 0, "testuser"))
+                .thenThrow(new IllegalArgumentException("Page size must be at least 1"));
+
+        // When & Then
+        mockMvc.perform(get("/api/progress-logs/program/7/summaries").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Page size must be at least 1"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProgramLogs_NonNumericSize_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/progress-logs/program/7").param("size", "ten"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void exportProgressLogs_StreamsNdjsonAttachment() throws Exception {
+        // Given
+        String ndjson = "{\"id\":1,\"date\":\"2024-03-01\"}\n{\"id\":2,\"date\":\"2024-03-02\"}\n";
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(ndjson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(progressLogExportService).exportUserHistory(eq("testuser"), any(OutputStream.class));
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/progress-logs/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"progress-logs.ndjson\""))
+                .andExpect(content().string(ndjson));
+    }
+
     private ProgressLogDto createSampleProgressLogDto() {
         ProgressLogDto dto = new ProgressLogDto();
         dto.setId(1L);
@@ -0,0 +1,129 @@
+package com.artisoft.fitbuddy.controller;
+
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.service.ProgramActivityService;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Imports through MockMvc, so the request runs with open-in-view like in production and every chunk
+ * shares the request's EntityManager.
+ */
+@SpringBootTest(properties = {
+        "app.jwtSecret=pSwngYFd3hunOFWq2jNASE713ptCQ5/TGx/LUtrCfwc=",
+        "app.jwtExpirationInMs=86400000",
+        "spring.datasource.url=jdbc:h2:mem:import-osiv",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "logging.level.org.hibernate=ERROR"
+})
+@AutoConfigureMockMvc
+class ProgressLogImportControllerTest {
+
+    private static final String TEST_USERNAME = "importer";
+    // Two full chunks and a partial one
+    private static final int LOGS = 1_100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private ProgramActivityService programActivityService;
+
+    private Long programId;
+    private Long dayId;
+    private Long plannedId;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+            WorkoutProgram program = fixtures.program(fixtures.user(TEST_USERNAME), "Strength");
+            WorkoutDay day = fixtures.day(program, WorkoutDay.DayOfWeek.MONDAY);
+            WorkoutDayExercise wde = fixtures.plannedExercise(day, fixtures.exercise("Squat"), 0, 3, 5);
+
+            programId = program.getId();
+            dayId = day.getId();
+            plannedId = wde.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        TrainingFixtures.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("should not keep earlier chunks managed in the request's EntityManager")
+    @WithMockUser(username = TEST_USERNAME)
+    void detachesEveryChunk() throws Exception {
+        // Given the number of managed entities each time a chunk is being saved
+        List<Integer> managedPerChunk = new ArrayList<>();
+        doAnswer(invocation -> {
+            managedPerChunk.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            return invocation.callRealMethod();
+        }).when(programActivityService).recordLogs(any());
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < LOGS; i++) {
+            body.append("{\"date\":\"").append(LocalDate.of(2015, 1, 1).plusDays(i))
+                    .append("\",\"workoutProgramId\":").append(programId)
+                    .append(",\"workoutDayId\":").append(dayId)
+                    .append(",\"exerciseProgresses\":[{\"workoutDayExerciseId\":").append(plannedId)
+                    .append(",\"orderIndex\":0,\"actualSets\":1,\"repsPerSet\":[5],\"weightPerSet\":[100.0]")
+                    .append(",\"completed\":true}]}\n");
+        }
+
+        // When
+        mockMvc.perform(post("/api/progress-logs/import")
+                        .contentType("application/x-ndjson")
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(LOGS))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        // Then each chunk holds only its own rows, not those of the chunks before it
+        assertEquals(3, managedPerChunk.size());
+        assertTrue(managedPerChunk.get(1) < 2 * managedPerChunk.get(0), "managed entities: " + managedPerChunk);
+        assertTrue(managedPerChunk.get(2) < managedPerChunk.get(0), "managed entities: " + managedPerChunk);
+    }
+}
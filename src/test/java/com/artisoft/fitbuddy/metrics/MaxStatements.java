@@ -0,0 +1,20 @@
+package com.artisoft.fitbuddy.metrics;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when it issues more SQL statements than {@link #value()}, setup in {@code @BeforeEach}
+ * excluded. On a class it applies to every test method that is not annotated itself.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface MaxStatements {
+
+    int value();
+}
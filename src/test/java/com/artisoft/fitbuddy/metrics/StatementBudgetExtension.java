@@ -0,0 +1,48 @@
+package com.artisoft.fitbuddy.metrics;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Counts the SQL statements of a test method with {@link RequestStatementCounter}, see {@link MaxStatements}.
+ * MockMvc runs requests on the test thread, so the statements of every request the test performs count.
+ */
+public class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(StatementBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), RequestStatementCounter.open());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        RequestStatementCounter.Scope scope =
+                context.getStore(NAMESPACE).remove(context.getUniqueId(), RequestStatementCounter.Scope.class);
+        scope.close();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        int budget = budget(context);
+        if (scope.statements() > budget) {
+            throw new AssertionFailedError(context.getRequiredTestMethod().getName() + " issued "
+                    + scope.statements() + " SQL statements, over its budget of " + budget, budget, scope.statements());
+        }
+    }
+
+    private static int budget(ExtensionContext context) {
+        MaxStatements maxStatements = AnnotatedElementUtils.findMergedAnnotation(
+                context.getRequiredTestMethod(), MaxStatements.class);
+        if (maxStatements == null) {
+            maxStatements = AnnotatedElementUtils.findMergedAnnotation(
+                    context.getRequiredTestClass(), MaxStatements.class);
+        }
+        return maxStatements.value();
+    }
+}
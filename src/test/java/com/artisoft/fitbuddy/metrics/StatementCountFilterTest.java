@@ -0,0 +1,88 @@
+package com.artisoft.fitbuddy.metrics;
+
+import com.artisoft.fitbuddy.repository.UserRepository;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+class StatementCountFilterTest {
+
+    private static final int BUDGET = 3;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementCountFilter filter = new StatementCountFilter(meterRegistry, BUDGET);
+
+    @Test
+    @DisplayName("should record the statements of a request under its URI pattern")
+    @MaxStatements(2)
+    void recordsStatementsPerRequest() throws Exception {
+        // When
+        perform(2);
+
+        // Then
+        DistributionSummary summary = meterRegistry.get(StatementCountFilter.METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/api/users/{username}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+        assertTrue(meterRegistry.find(StatementCountFilter.OVER_BUDGET_METRIC).counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("should count requests over the statement budget")
+    void countsRequestsOverBudget() throws Exception {
+        // When
+        perform(BUDGET);
+        perform(BUDGET + 1);
+
+        // Then
+        assertEquals(1, meterRegistry.get(StatementCountFilter.OVER_BUDGET_METRIC)
+                .tag("uri", "/api/users/{username}")
+                .counter()
+                .count());
+    }
+
+    @Test
+    @DisplayName("should not count statements outside a request")
+    void ignoresStatementsOutsideRequests() {
+        // Given
+        RequestStatementCounter.Scope scope = RequestStatementCounter.open();
+        scope.close();
+
+        // When
+        userRepository.findByUsername("alice");
+
+        // Then
+        assertEquals(0, scope.statements());
+    }
+
+    private void perform(int queries) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/alice");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{username}");
+                for (int i = 0; i < queries; i++) {
+                    userRepository.findByUsername("alice");
+                }
+            }
+        }));
+    }
+}
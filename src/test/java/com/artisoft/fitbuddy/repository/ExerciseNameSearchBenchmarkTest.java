@@ -0,0 +1,107 @@
+package com.artisoft.fitbuddy.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the pg_trgm similarity query with the plain ILIKE search on a 50,000 exercise catalog,
+ * against a real PostgreSQL with all Flyway migrations applied. Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "logging.level.org.hibernate=ERROR"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Tag("benchmark")
+@EnabledIf("dockerAvailable")
+class ExerciseNameSearchBenchmarkTest {
+
+    private static final int CATALOG_SIZE = 50_000;
+    private static final int LIMIT = 20;
+    private static final int RUNS = 50;
+    private static final List<String> QUERIES = List.of("squat", "kettlebell curl", "pulldown 4268", "pulldwon");
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static boolean dockerAvailable() {
+        return DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO exercises (name, description) " +
+                "SELECT (ARRAY['Barbell', 'Dumbbell', 'Cable', 'Machine', 'Kettlebell', 'Smith Machine', " +
+                "'Single Arm', 'Seated', 'Incline', 'Decline'])[1 + i % 10] || ' ' || " +
+                "(ARRAY['Squat', 'Bench Press', 'Row', 'Curl', 'Deadlift', 'Lunge', 'Pulldown', 'Fly', " +
+                "'Extension', 'Raise', 'Shrug', 'Press'])[1 + (i / 10) % 12] || ' ' || i, 'Generated' " +
+                "FROM generate_series(1, ?) AS i", CATALOG_SIZE);
+        jdbcTemplate.execute("ANALYZE exercises");
+    }
+
+    @Test
+    @DisplayName("trigram similarity search vs ILIKE on a large catalog")
+    void compareSearchBackends() {
+        StringBuilder timings = new StringBuilder(CATALOG_SIZE + " exercises:");
+        for (String query : QUERIES) {
+            double likeMs = averageMs(() -> exerciseRepository.findByNameContainingIgnoreCase(query));
+            double trigramMs = averageMs(() -> exerciseRepository.searchByNameSimilarity(query, query, false, LIMIT));
+            timings.append(String.format(" '%s' ILIKE %.2f ms, trigram %.2f ms;", query, likeMs, trigramMs));
+        }
+
+        assertEquals("Incline Pulldown 4268",
+                exerciseRepository.searchByNameSimilarity("pulldwon 4268", "pulldwon 4268", false, LIMIT).get(0).getName(),
+                timings.toString());
+        assertEquals(LIMIT, exerciseRepository.searchByNameSimilarity("squat", "squat", false, LIMIT).size(),
+                timings.toString());
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM exercises WHERE name ILIKE '%pulldown 4268%'", String.class));
+        assertTrue(plan.contains("idx_exercises_name_trgm"), plan);
+    }
+
+    private static double averageMs(Supplier<List<?>> search) {
+        // Warm up the plan cache and the buffer pool first
+        for (int i = 0; i < 5; i++) {
+            search.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            search.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / RUNS;
+    }
+}
@@ -0,0 +1,93 @@
+package com.artisoft.fitbuddy.repository;
+
+import com.artisoft.fitbuddy.dto.ExerciseUsageRow;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@JpaSliceTest
+class ExerciseRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    private Exercise squat;
+    private Exercise bench;
+    private Exercise deadlift;
+    private Exercise row;
+    private Exercise curl;
+
+    @BeforeEach
+    void setUp() {
+        TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+        WorkoutProgram program = fixtures.program(fixtures.user("lister"), "Program");
+        WorkoutDay day = fixtures.day(program, WorkoutDay.DayOfWeek.MONDAY);
+
+        squat = exercise("Squat");
+        bench = exercise("bench");
+        deadlift = exercise("Deadlift");
+        row = exercise("Row");
+        curl = exercise("Curl");
+
+        fixtures.plannedExercise(day, squat, 0, 3, 5);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should page standalone exercises by case-insensitive name")
+    void pagesStandaloneByName() {
+        List<Exercise> first = exerciseRepository.findStandaloneOrderByName(Limit.of(2));
+        Exercise last = first.get(1);
+        List<Exercise> rest = exerciseRepository.findStandaloneOrderByNameAfter(last.getName(), last.getId(), Limit.of(10));
+
+        assertEquals(List.of("bench", "Curl"), first.stream().map(Exercise::getName).toList());
+        assertEquals(List.of("Deadlift", "Row"), rest.stream().map(Exercise::getName).toList());
+    }
+
+    @Test
+    @DisplayName("should page standalone exercises by id")
+    void pagesStandaloneById() {
+        List<Exercise> first = exerciseRepository.findStandaloneOrderById(Limit.of(1));
+        List<Exercise> rest = exerciseRepository.findStandaloneOrderByIdAfter(first.get(0).getId(), Limit.of(10));
+
+        assertEquals(List.of(bench.getId()), first.stream().map(Exercise::getId).toList());
+        assertEquals(List.of(deadlift.getId(), row.getId(), curl.getId()), rest.stream().map(Exercise::getId).toList());
+    }
+
+    @Test
+    @DisplayName("should project usage rows ordered by exercise, program and day")
+    void projectsUsageRows() {
+        List<ExerciseUsageRow> rows = exerciseRepository.findUsageRowsByIdIn(List.of(bench.getId(), squat.getId()));
+
+        assertEquals(2, rows.size());
+        assertEquals(squat.getId(), rows.get(0).getExerciseId());
+        assertEquals("Program", rows.get(0).getProgramName());
+        assertEquals("MONDAY", rows.get(0).getDayOfWeek());
+        assertEquals(bench.getId(), rows.get(1).getExerciseId());
+        assertNull(rows.get(1).getProgramId());
+    }
+
+    private Exercise exercise(String name) {
+        Exercise exercise = new Exercise();
+        exercise.setName(name);
+        exercise.setDefaultSets(3);
+        exercise.setDefaultRepsPerSet(10);
+        entityManager.persist(exercise);
+        return exercise;
+    }
+}
@@ -0,0 +1,100 @@
+package com.artisoft.fitbuddy.repository;
+
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC statements Hibernate prepares to persist one full workout log
+ * (12 exercises x 4 sets). Run it before and after mapping changes to compare.
+ */
+@JpaSliceTest
+class ProgressLogBatchInsertBenchmarkTest {
+
+    private static final int EXERCISES_PER_LOG = 12;
+    private static final int SETS_PER_EXERCISE = 4;
+    private static final int LOGS = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProgressLogRepository progressLogRepository;
+
+    private Statistics statistics;
+    private WorkoutProgram program;
+    private WorkoutDay day;
+    private List<WorkoutDayExercise> plannedExercises;
+
+    @BeforeEach
+    void setUp() {
+        TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+        program = fixtures.program(fixtures.user("bench"), "Bench program");
+        day = fixtures.day(program, WorkoutDay.DayOfWeek.MONDAY);
+
+        plannedExercises = new ArrayList<>();
+        for (int i = 0; i < EXERCISES_PER_LOG; i++) {
+            plannedExercises.add(fixtures.plannedExercise(
+                    day, fixtures.exercise("Exercise " + i), i, SETS_PER_EXERCISE, 10));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("persisting a full workout log uses a handful of batched statements")
+    void statementsPerLog() {
+        statistics.clear();
+        for (int i = 0; i < LOGS; i++) {
+            progressLogRepository.save(buildLog(LocalDate.of(2024, 1, 1).plusDays(i)));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        long statements = statistics.getPrepareStatementCount();
+        double perLog = (double) statements / LOGS;
+        assertTrue(perLog <= 6, "Expected batched inserts, got " + perLog + " statements per log");
+    }
+
+    private ProgressLog buildLog(LocalDate date) {
+        ProgressLog log = new ProgressLog();
+        log.setDate(date);
+        log.setWorkoutProgram(entityManager.getReference(WorkoutProgram.class, program.getId()));
+        log.setWorkoutDay(entityManager.getReference(WorkoutDay.class, day.getId()));
+
+        for (int i = 0; i < EXERCISES_PER_LOG; i++) {
+            ExerciseProgress progress = new ExerciseProgress();
+            progress.setProgressLog(log);
+            progress.setPlannedExercise(entityManager.getReference(
+                    WorkoutDayExercise.class, plannedExercises.get(i).getId()));
+            progress.setOrderIndex(i);
+            progress.setActualSets(SETS_PER_EXERCISE);
+            for (int set = 0; set < SETS_PER_EXERCISE; set++) {
+                progress.addSetDetail(10 - set, 50.0 + set * 2.5);
+            }
+            progress.setCompleted(true);
+            log.getExerciseProgresses().add(progress);
+        }
+        return log;
+    }
+}
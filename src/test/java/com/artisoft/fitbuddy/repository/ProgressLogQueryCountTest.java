@@ -0,0 +1,188 @@
+package com.artisoft.fitbuddy.repository;
+
+import com.artisoft.fitbuddy.dto.CursorPage;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.dto.ProgressLogSummaryDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.service.ExerciseStatsService;
+import com.artisoft.fitbuddy.service.ProgressLogService;
+import com.artisoft.fitbuddy.service.ProgramActivityService;
+import com.artisoft.fitbuddy.service.VolumeRollupService;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifies that reading a program's progress history costs the same number of queries
+ * no matter how many logs it contains.
+ */
+@JpaSliceTest
+@Import({ProgressLogService.class, ExerciseStatsService.class, VolumeRollupService.class,
+        ProgramActivityService.class})
+class ProgressLogQueryCountTest {
+
+    private static final String TEST_USERNAME = "querycount";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProgressLogService progressLogService;
+
+    private TrainingFixtures fixtures;
+    private Statistics statistics;
+    private WorkoutProgram program;
+    private WorkoutDay day;
+    private List<WorkoutDayExercise> plannedExercises;
+    private Exercise replacement;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TrainingFixtures(entityManager);
+        program = fixtures.program(fixtures.user(TEST_USERNAME), "Query count program");
+        day = fixtures.day(program, WorkoutDay.DayOfWeek.TUESDAY);
+
+        plannedExercises = List.of(plannedExercise("Squat", 0), plannedExercise("Bench", 1), plannedExercise("Row", 2));
+        replacement = fixtures.exercise("Leg press");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("program history loads in a constant number of queries")
+    void historyQueryCountIsFlat() {
+        persistLogs(3, 0);
+        long fewLogsQueries = countQueriesForHistory(3);
+
+        persistLogs(12, 3);
+        long manyLogsQueries = countQueriesForHistory(15);
+
+        assertEquals(fewLogsQueries, manyLogsQueries);
+    }
+
+    @Test
+    @DisplayName("detail view includes set details and replacement exercises")
+    void detailIncludesSets() {
+        persistLogs(1, 0);
+        Long logId = entityManager.createQuery("SELECT pl.id FROM ProgressLog pl", Long.class).getSingleResult();
+        entityManager.clear();
+
+        ProgressLogDto dto = progressLogService.getProgressLog(logId, TEST_USERNAME);
+
+        assertEquals(3, dto.getExerciseProgresses().size());
+        assertEquals(List.of(10, 8, 6), dto.getExerciseProgresses().get(0).getRepsPerSet());
+        assertEquals(List.of(60.0, 62.5, 65.0), dto.getExerciseProgresses().get(0).getWeightPerSet());
+        assertEquals("Leg press", dto.getExerciseProgresses().get(2).getExerciseName());
+    }
+
+    @Test
+    @DisplayName("summaries are aggregated in SQL without loading exercise progresses")
+    void summariesAreAggregatedInSql() {
+        persistLogs(4, 0);
+        entityManager.clear();
+        statistics.clear();
+
+        List<ProgressLogSummaryDto> summaries = progressLogService
+                .getProgressLogSummaries(program.getId(), null, null, TEST_USERNAME).getItems();
+
+        assertEquals(4, summaries.size());
+        assertEquals(LocalDate.of(2024, 3, 4), summaries.get(0).getDate());
+        ProgressLogSummaryDto summary = summaries.get(0);
+        assertEquals("TUESDAY", summary.getWorkoutDayName());
+        assertEquals(3, summary.getTotalExercises());
+        assertEquals(1, summary.getCompletedExercises());
+        assertEquals(1, summary.getSkippedExercises());
+        assertEquals(0, statistics.getEntityStatistics(ExerciseProgress.class.getName()).getLoadCount());
+    }
+
+    @Test
+    @DisplayName("keyset pages walk the whole history without gaps or duplicates")
+    void keysetPagination() {
+        persistLogs(3, 0);
+        // Same dates again so the id tie-breaker is exercised
+        persistLogs(2, 0);
+        entityManager.clear();
+
+        List<Long> pagedIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ProgressLogSummaryDto> page =
+                    progressLogService.getProgressLogSummaries(program.getId(), cursor, 2, TEST_USERNAME);
+            page.getItems().forEach(summary -> pagedIds.add(summary.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<Long> expectedIds = entityManager.createQuery(
+                "SELECT pl.id FROM ProgressLog pl ORDER BY pl.date DESC, pl.id DESC", Long.class).getResultList();
+        assertEquals(3, pages);
+        assertEquals(expectedIds, pagedIds);
+
+        CursorPage<ProgressLogDto> lastLogs = progressLogService.getProgressLogs(
+                program.getId(), null, 10, TEST_USERNAME);
+        assertEquals(expectedIds, lastLogs.getItems().stream().map(ProgressLogDto::getId).toList());
+        assertNull(lastLogs.getNextCursor());
+    }
+
+    private long countQueriesForHistory(int expectedLogs) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<ProgressLogDto> logs = progressLogService.getProgressLogs(program.getId(), null, 100, TEST_USERNAME).getItems();
+
+        assertEquals(expectedLogs, logs.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void persistLogs(int count, int dayOffset) {
+        for (int i = 0; i < count; i++) {
+            ProgressLog log = new ProgressLog();
+            log.setDate(LocalDate.of(2024, 3, 1).plusDays(dayOffset + i));
+            log.setWorkoutProgram(program);
+            log.setWorkoutDay(day);
+
+            for (int e = 0; e < plannedExercises.size(); e++) {
+                ExerciseProgress progress = new ExerciseProgress();
+                progress.setProgressLog(log);
+                progress.setPlannedExercise(plannedExercises.get(e));
+                if (e == 2) {
+                    progress.setReplacementExercise(replacement);
+                }
+                progress.setOrderIndex(e);
+                progress.setActualSets(3);
+                progress.setCompleted(e == 0);
+                progress.setSkipped(e == 1);
+                progress.addSetDetail(10, 60.0);
+                progress.addSetDetail(8, 62.5);
+                progress.addSetDetail(6, 65.0);
+                log.getExerciseProgresses().add(progress);
+            }
+            entityManager.persist(log);
+        }
+        entityManager.flush();
+    }
+
+    private WorkoutDayExercise plannedExercise(String name, int orderIndex) {
+        return fixtures.plannedExercise(day, fixtures.exercise(name), orderIndex, 3, 10);
+    }
+}
@@ -0,0 +1,77 @@
+package com.artisoft.fitbuddy.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String TEST_SECRET = "pSwngYFd3hunOFWq2jNASE713ptCQ5/TGx/LUtrCfwc=";
+    private static final String TEST_USERNAME = "testuser";
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(TEST_SECRET, 86400000, 100);
+    }
+
+    @Test
+    @DisplayName("should return subject and expiry for a valid token")
+    void parseValidToken() {
+        String token = tokenProvider.generateToken(TEST_USERNAME);
+
+        Optional<VerifiedToken> verified = tokenProvider.parseAndValidate(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals(TEST_USERNAME, verified.get().subject());
+        assertNotNull(verified.get().expiresAt());
+        assertSame(verified.get(), tokenProvider.parseAndValidate(token).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("should reject a token signed with another key")
+    void rejectForeignSignature() {
+        JwtTokenProvider otherProvider = new JwtTokenProvider(
+                "c2Vjb25kLXNlY3JldC1rZXktZm9yLXRlc3RpbmctcHVycG9zZXM=", 86400000, 100);
+        String token = otherProvider.generateToken(TEST_USERNAME);
+
+        assertTrue(tokenProvider.parseAndValidate(token).isEmpty());
+        assertFalse(tokenProvider.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("should reject expired and malformed tokens")
+    void rejectExpiredAndMalformed() {
+        JwtTokenProvider expiringProvider = new JwtTokenProvider(TEST_SECRET, -1000, 100);
+        String expired = expiringProvider.generateToken(TEST_USERNAME);
+
+        assertTrue(tokenProvider.parseAndValidate(expired).isEmpty());
+        assertTrue(tokenProvider.parseAndValidate("not.a.jwt").isEmpty());
+        assertTrue(tokenProvider.parseAndValidate("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("should drop a verified token from the cache when its expiry passes on the cache's ticker")
+    void expiresCachedTokenOnTicker() {
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = nanos::get;
+        JwtTokenProvider tickingProvider = new JwtTokenProvider(TEST_SECRET, 60_000, 100, ticker);
+        String token = tickingProvider.generateToken(TEST_USERNAME);
+        VerifiedToken first = tickingProvider.parseAndValidate(token).orElseThrow();
+
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertSame(first, tickingProvider.parseAndValidate(token).orElseThrow());
+
+        // The token itself is still valid on the wall clock, so it is verified again rather than rejected
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertNotSame(first, tickingProvider.parseAndValidate(token).orElseThrow());
+    }
+}
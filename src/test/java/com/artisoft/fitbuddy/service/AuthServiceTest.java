@@ -6,6 +6,7 @@ import com.artisoft.fitbuddy.dto.SignUpRequest;
 import com.artisoft.fitbuddy.model.User;
 import com.artisoft.fitbuddy.repository.UserRepository;
 import com.artisoft.fitbuddy.security.JwtTokenProvider;
+import com.artisoft.fitbuddy.security.UserPrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -46,6 +47,9 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private UserPrincipalCache principalCache;
+
     @InjectMocks
     private AuthService authService;
 
@@ -94,6 +98,7 @@ class AuthServiceTest {
             assertEquals(TEST_EMAIL, savedUser.getEmail());
             assertEquals(TEST_ENCODED_PASSWORD, savedUser.getPassword());
             assertEquals(TEST_ROLE, savedUser.getRole());
+            verify(principalCache).invalidate(TEST_USERNAME);
         }
 
         @Test
@@ -0,0 +1,176 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseDeleteReport;
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+@Import({ExerciseService.class, ExerciseCatalogCache.class, ExerciseSearchIndex.class,
+        ProgressLogService.class, ExerciseStatsService.class, VolumeRollupService.class,
+        ProgramActivityService.class})
+class ExerciseBulkDeleteTest {
+
+    private static final String TEST_USERNAME = "lifter";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ExerciseService exerciseService;
+
+    @Autowired
+    private ProgressLogService progressLogService;
+
+    private TrainingFixtures fixtures;
+    private WorkoutProgram program;
+    private WorkoutDay day;
+    private WorkoutDayExercise squat;
+    private WorkoutDayExercise bench;
+    private Exercise frontSquat;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TrainingFixtures(entityManager);
+        program = fixtures.program(fixtures.user(TEST_USERNAME), "Strength");
+        day = fixtures.day(program, WorkoutDay.DayOfWeek.MONDAY);
+
+        squat = fixtures.plannedExercise(day, fixtures.exercise("Back squat"), 0, 3, 5);
+        bench = fixtures.plannedExercise(day, fixtures.exercise("Bench press"), 1, 3, 5);
+        frontSquat = fixtures.exercise("Front squat");
+    }
+
+    @Test
+    @DisplayName("should delete usages and detach logged progress with a fixed number of statements")
+    void deletesInBulk() {
+        // Given a log where the bench slot was done as front squats
+        ProgressLogDto log = progressLogService.createProgressLog(log(
+                progress(squat, null, 0),
+                progress(bench, frontSquat.getId(), 1)), TEST_USERNAME);
+        List<Long> ids = new ArrayList<>(List.of(squat.getExercise().getId(), frontSquat.getId()));
+        for (int i = 0; i < 50; i++) {
+            ids.add(fixtures.exercise("Unused " + i).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        ExerciseDeleteReport report = exerciseService.deleteExercises(ids, TEST_USERNAME);
+
+        // Then one lookup, two ownership checks and six set-based statements, whatever the number of ids
+        assertEquals(9, statistics.getPrepareStatementCount());
+        assertEquals(52, report.getDeletedExercises());
+        assertEquals(1, report.getDeletedPlannedExercises());
+        assertEquals(2, report.getDetachedProgressEntries());
+
+        entityManager.clear();
+        List<ExerciseProgress> progresses = entityManager.find(ProgressLog.class, log.getId()).getExerciseProgresses();
+        assertEquals(2, progresses.size());
+        assertTrue(progresses.stream().allMatch(ep -> ep.getReplacementExercise() == null));
+        ExerciseProgress squatEntry = progresses.stream().filter(ep -> ep.getOrderIndex() == 0).findFirst().orElseThrow();
+        assertNull(squatEntry.getPlannedExercise());
+        assertFalse(squatEntry.getReplacementRemoved());
+        // The bench slot keeps its plan row but no longer counts for the bench press
+        ExerciseProgress benchEntry = progresses.stream().filter(ep -> ep.getOrderIndex() == 1).findFirst().orElseThrow();
+        assertEquals(bench.getId(), benchEntry.getPlannedExercise().getId());
+        assertTrue(benchEntry.getReplacementRemoved());
+        assertNull(ExerciseStatsService.performedExerciseId(benchEntry));
+        assertNotNull(entityManager.find(WorkoutDayExercise.class, bench.getId()));
+        assertEquals(0L, entityManager.createQuery("SELECT COUNT(es) FROM ExerciseStats es", Long.class).getSingleResult());
+        assertEquals(0L, entityManager.createQuery("SELECT COUNT(r) FROM ExerciseVolumeRollup r", Long.class).getSingleResult());
+    }
+
+    @Test
+    @DisplayName("should delete nothing when any id is unknown")
+    void rejectsUnknownIds() {
+        // When/Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> exerciseService.deleteExercises(List.of(frontSquat.getId(), -1L, -2L), TEST_USERNAME)
+        );
+        assertEquals("Exercises not found: [-1, -2]", exception.getMessage());
+        assertNotNull(entityManager.find(Exercise.class, frontSquat.getId()));
+    }
+
+    @Test
+    @DisplayName("should not delete exercises another user plans or has logged")
+    void rejectsOtherUsersExercises() {
+        // Given another user who plans the back squat and once did front squats instead of rows
+        WorkoutProgram otherProgram = fixtures.program(fixtures.user("other"), "Other");
+        WorkoutDay otherDay = fixtures.day(otherProgram, WorkoutDay.DayOfWeek.TUESDAY);
+        fixtures.plannedExercise(otherDay, squat.getExercise(), 0, 3, 5);
+        WorkoutDayExercise row = fixtures.plannedExercise(otherDay, fixtures.exercise("Row"), 1, 3, 5);
+
+        ProgressLog otherLog = new ProgressLog();
+        otherLog.setDate(LocalDate.of(2024, 3, 2));
+        otherLog.setWorkoutProgram(otherProgram);
+        otherLog.setWorkoutDay(otherDay);
+        entityManager.persist(otherLog);
+        ExerciseProgress progress = new ExerciseProgress();
+        progress.setProgressLog(otherLog);
+        progress.setPlannedExercise(row);
+        progress.setReplacementExercise(frontSquat);
+        progress.setOrderIndex(0);
+        progress.setActualSets(1);
+        entityManager.persist(progress);
+        entityManager.flush();
+
+        // When/Then
+        IllegalArgumentException planned = assertThrows(IllegalArgumentException.class,
+                () -> exerciseService.deleteExercise(squat.getExercise().getId(), TEST_USERNAME));
+        IllegalArgumentException logged = assertThrows(IllegalArgumentException.class,
+                () -> exerciseService.deleteExercises(List.of(bench.getExercise().getId(), frontSquat.getId()),
+                        TEST_USERNAME));
+        assertEquals("Access denied", planned.getMessage());
+        assertEquals("Access denied", logged.getMessage());
+
+        entityManager.clear();
+        assertNotNull(entityManager.find(Exercise.class, squat.getExercise().getId()));
+        assertNotNull(entityManager.find(Exercise.class, frontSquat.getId()));
+        assertEquals(frontSquat.getId(),
+                entityManager.find(ExerciseProgress.class, progress.getId()).getReplacementExercise().getId());
+    }
+
+    private ProgressLogDto log(ExerciseProgressDto... progresses) {
+        ProgressLogDto dto = new ProgressLogDto();
+        dto.setDate(LocalDate.of(2024, 3, 1));
+        dto.setWorkoutProgramId(program.getId());
+        dto.setWorkoutDayId(day.getId());
+        dto.setExerciseProgresses(List.of(progresses));
+        return dto;
+    }
+
+    private ExerciseProgressDto progress(WorkoutDayExercise planned, Long replacementId, int orderIndex) {
+        ExerciseProgressDto dto = new ExerciseProgressDto();
+        dto.setOrderIndex(orderIndex);
+        dto.setWorkoutDayExerciseId(planned.getId());
+        dto.setReplacementExerciseId(replacementId);
+        dto.setActualSets(1);
+        dto.setRepsPerSet(List.of(5));
+        dto.setWeightPerSet(List.of(100.0));
+        dto.setCompleted(true);
+        return dto;
+    }
+}
@@ -0,0 +1,103 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExerciseSearchIndexTest {
+
+    private ExerciseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ExerciseSearchIndex(true);
+        index.rebuild(List.of(
+                exercise(1L, "Barbell Squat", "A compound leg exercise"),
+                exercise(2L, "Front Squat", "Squat with the bar in front rack position"),
+                exercise(3L, "Bulgarian Split Squat", null),
+                exercise(4L, "Bench Press", "Horizontal press for the chest"),
+                exercise(5L, "Développé couché", "Bench press, in French"),
+                exercise(6L, "Leg Press", "Machine squat pattern")));
+    }
+
+    @Test
+    @DisplayName("should rank name prefixes above substring and description matches")
+    void ranksByRelevance() {
+        List<String> names = names(index.search("squ", 10));
+
+        assertEquals(List.of("Front Squat", "Barbell Squat", "Bulgarian Split Squat", "Leg Press"), names);
+    }
+
+    @Test
+    @DisplayName("should require every query word and prefer a matching name start")
+    void matchesAllWords() {
+        assertEquals(List.of("Bench Press"), names(index.search("bench pr", 10)).subList(0, 1));
+        assertEquals(List.of("Bulgarian Split Squat"), names(index.search("split sq", 10)));
+    }
+
+    @Test
+    @DisplayName("should tolerate typos and accents")
+    void toleratesTypos() {
+        assertEquals("Front Squat", names(index.search("frnot", 10)).get(0));
+        assertEquals("Barbell Squat", names(index.search("barbel sqaut", 10)).get(0));
+        assertEquals("Développé couché", names(index.search("developpe", 10)).get(0));
+    }
+
+    @Test
+    @DisplayName("should honour the limit and reflect updates and removals")
+    void keepsInSync() {
+        assertEquals(2, index.search("squat", 2).size());
+
+        index.put(exercise(4L, "Incline Bench Press", null));
+        index.remove(2L);
+
+        assertEquals("Incline Bench Press", names(index.search("incline", 10)).get(0));
+        assertFalse(names(index.search("squat", 10)).contains("Front Squat"));
+        assertTrue(index.search("horizontal", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("benchmark: search latency over a large catalog")
+    void searchLatency() {
+        List<ExerciseDto> catalog = new ArrayList<>();
+        String[] movements = {"Squat", "Press", "Row", "Curl", "Deadlift", "Lunge", "Raise", "Extension", "Fly", "Pulldown"};
+        String[] variants = {"Barbell", "Dumbbell", "Cable", "Machine", "Kettlebell", "Single Arm", "Incline", "Seated"};
+        for (int i = 0; i < 5_000; i++) {
+            catalog.add(exercise((long) i, variants[i % variants.length] + " " + movements[(i / 8) % movements.length] + " " + i,
+                    "Variation number " + i));
+        }
+        index.rebuild(catalog);
+
+        String[] queries = {"s", "sq", "squ", "dumbbel cur", "kettlebell dead", "pulldwon", "incline press 42"};
+        for (int i = 0; i < 200; i++) {
+            index.search(queries[i % queries.length], 10);
+        }
+        int runs = 2_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            index.search(queries[i % queries.length], 10);
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / runs;
+
+        assertEquals(10, index.search("dumbbell curl", 10).size(),
+                String.format("%d exercises, %.1f us per query", catalog.size(), micros));
+    }
+
+    private static List<String> names(List<ExerciseDto> exercises) {
+        return exercises.stream().map(ExerciseDto::getName).toList();
+    }
+
+    private static ExerciseDto exercise(Long id, String name, String description) {
+        ExerciseDto dto = new ExerciseDto();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setDescription(description);
+        return dto;
+    }
+}
@@ -0,0 +1,328 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.CursorPage;
+import com.artisoft.fitbuddy.dto.ExerciseDto;
+import com.artisoft.fitbuddy.dto.ExerciseSearchCriteria;
+import com.artisoft.fitbuddy.dto.ExerciseUsageDto;
+import com.artisoft.fitbuddy.dto.ExerciseUsageRow;
+import com.artisoft.fitbuddy.model.Exercise;
+import com.artisoft.fitbuddy.model.User;
+import com.artisoft.fitbuddy.model.WorkoutDay;
+import com.artisoft.fitbuddy.repository.ExerciseProgressRepository;
+import com.artisoft.fitbuddy.repository.ExerciseRepository;
+import com.artisoft.fitbuddy.repository.ExerciseStatsRepository;
+import com.artisoft.fitbuddy.repository.ExerciseVolumeRollupRepository;
+import com.artisoft.fitbuddy.repository.UserRepository;
+import com.artisoft.fitbuddy.repository.WorkoutDayExerciseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExerciseServiceTest {
+
+    private static final String TEST_USERNAME = "testuser";
+    private static final Long EXERCISE_ID = 1L;
+
+    @Mock
+    private ExerciseRepository exerciseRepository;
+
+    @Mock
+    private WorkoutDayExerciseRepository workoutDayExerciseRepository;
+
+    @Mock
+    private ExerciseProgressRepository exerciseProgressRepository;
+
+    @Mock
+    private ExerciseStatsRepository exerciseStatsRepository;
+
+    @Mock
+    private ExerciseVolumeRollupRepository volumeRollupRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private ExerciseCatalogCache catalogCache = new ExerciseCatalogCache(100, 60_000, false);
+
+    @Spy
+    private ExerciseSearchIndex searchIndex = new ExerciseSearchIndex(true);
+
+    @InjectMocks
+    private ExerciseService exerciseService;
+
+    @Nested
+    @DisplayName("catalog cache")
+    class CatalogCache {
+
+        @Test
+        @DisplayName("should read an exercise from the database only once")
+        void cachesExerciseById() {
+            // Given
+            when(exerciseRepository.findById(EXERCISE_ID)).thenReturn(Optional.of(exercise(EXERCISE_ID, "Squat")));
+
+            // When
+            ExerciseDto first = exerciseService.getExercise(EXERCISE_ID, TEST_USERNAME);
+            first.setName("changed by caller");
+            ExerciseDto second = exerciseService.getExercise(EXERCISE_ID, TEST_USERNAME);
+
+            // Then
+            assertEquals("Squat", second.getName());
+            verify(exerciseRepository, times(1)).findById(EXERCISE_ID);
+            assertEquals(1, catalogCache.stats().hitCount());
+        }
+
+        @Test
+        @DisplayName("should serve the full catalog from cache and fill the per-id entries")
+        void cachesFullCatalog() {
+            // Given
+            when(exerciseRepository.findAll()).thenReturn(List.of(exercise(1L, "Squat"), exercise(2L, "Bench")));
+
+            // When
+            exerciseService.searchExercises(new ExerciseSearchCriteria(), TEST_USERNAME);
+            List<ExerciseDto> result = exerciseService.searchExercises(new ExerciseSearchCriteria(), TEST_USERNAME).getItems();
+            ExerciseDto bench = exerciseService.getExercise(2L, TEST_USERNAME);
+
+            // Then
+            assertEquals(2, result.size());
+            assertEquals("Bench", bench.getName());
+            verify(exerciseRepository, times(1)).findAll();
+            verify(exerciseRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("should not cache unknown exercises")
+        void doesNotCacheMisses() {
+            // Given
+            when(exerciseRepository.findById(EXERCISE_ID)).thenReturn(Optional.empty());
+
+            // When/Then
+            assertThrows(IllegalArgumentException.class, () -> exerciseService.getExercise(EXERCISE_ID, TEST_USERNAME));
+            assertThrows(IllegalArgumentException.class, () -> exerciseService.getExercise(EXERCISE_ID, TEST_USERNAME));
+            verify(exerciseRepository, times(2)).findById(EXERCISE_ID);
+        }
+
+        @Test
+        @DisplayName("should invalidate the exercise and the catalog on update")
+        void invalidatesOnUpdate() {
+            // Given
+            Exercise squat = exercise(EXERCISE_ID, "Squat");
+            when(exerciseRepository.findById(EXERCISE_ID)).thenReturn(Optional.of(squat));
+            when(exerciseRepository.findAll()).thenReturn(List.of(squat));
+            when(exerciseRepository.save(any(Exercise.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            exerciseService.getExercise(EXERCISE_ID, TEST_USERNAME);
+            exerciseService.searchExercises(new ExerciseSearchCriteria(), TEST_USERNAME);
+
+            ExerciseDto update = new ExerciseDto();
+            update.setName("Front squat");
+            update.setDefaultSets(3);
+            update.setDefaultRepsPerSet(5);
+
+            // When
+            exerciseService.updateExercise(EXERCISE_ID, update, TEST_USERNAME);
+
+            // Then
+            assertEquals("Front squat", exerciseService.getExercise(EXERCISE_ID, TEST_USERNAME).getName());
+            assertEquals("Front squat", exerciseService.searchExercises(new ExerciseSearchCriteria(), TEST_USERNAME).getItems().get(0).getName());
+            verify(exerciseRepository, times(2)).findAll();
+        }
+    }
+
+    @Nested
+    @DisplayName("search index")
+    class SearchIndex {
+
+        @Test
+        @DisplayName("should answer name searches from the index once the catalog is loaded")
+        void searchesIndex() {
+            // Given
+            when(exerciseRepository.findAll()).thenReturn(List.of(exercise(1L, "Squat"), exercise(2L, "Bench")));
+            exerciseService.loadCatalog();
+            ExerciseSearchCriteria criteria = new ExerciseSearchCriteria();
+            criteria.setName("sqat");
+
+            // When
+            List<ExerciseDto> result = exerciseService.searchExercises(criteria, TEST_USERNAME).getItems();
+
+            // Then
+            assertEquals(List.of("Squat"), result.stream().map(ExerciseDto::getName).toList());
+            verify(exerciseRepository, never()).searchByNameSimilarity(any(), any(), anyBoolean(), anyInt());
+        }
+
+        @Test
+        @DisplayName("should fall back to the trigram query until the index is ready")
+        void fallsBackToDatabase() {
+            // Given
+            when(exerciseRepository.searchByNameSimilarity("50%_off", "50\\%\\_off", false, 5))
+                    .thenReturn(List.of(exercise(3L, "50%_off Squat")));
+            ExerciseSearchCriteria criteria = new ExerciseSearchCriteria();
+            criteria.setName(" 50%_off ");
+            criteria.setLimit(5);
+
+            // When
+            List<ExerciseDto> result = exerciseService.searchExercises(criteria, TEST_USERNAME).getItems();
+
+            // Then
+            assertEquals(List.of(3L), result.stream().map(ExerciseDto::getId).toList());
+        }
+
+        @Test
+        @DisplayName("should index created exercises")
+        void indexesCreatedExercises() {
+            // Given
+            when(exerciseRepository.findAll()).thenReturn(List.of());
+            exerciseService.loadCatalog();
+            when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(new User()));
+            when(exerciseRepository.save(any(Exercise.class))).thenAnswer(invocation -> {
+                Exercise saved = invocation.getArgument(0);
+                saved.setId(7L);
+                return saved;
+            });
+            ExerciseDto dto = new ExerciseDto();
+            dto.setName("Romanian Deadlift");
+            dto.setDefaultSets(3);
+            dto.setDefaultRepsPerSet(8);
+
+            // When
+            exerciseService.createExercise(dto, TEST_USERNAME);
+            ExerciseSearchCriteria criteria = new ExerciseSearchCriteria();
+            criteria.setName("roman");
+
+            // Then
+            assertEquals(7L, exerciseService.searchExercises(criteria, TEST_USERNAME).getItems().get(0).getId());
+        }
+    }
+
+    @Nested
+    @DisplayName("listing")
+    class Listing {
+
+        @Test
+        @DisplayName("should page through the cached catalog by name with a continuation cursor")
+        void pagesByName() {
+            // Given
+            when(exerciseRepository.findAll()).thenReturn(List.of(
+                    exercise(1L, "squat"), exercise(2L, "Bench"), exercise(3L, "Deadlift"), exercise(4L, "Row")));
+            ExerciseSearchCriteria criteria = new ExerciseSearchCriteria();
+            criteria.setSize(3);
+
+            // When
+            CursorPage<ExerciseDto> first = exerciseService.searchExercises(criteria, TEST_USERNAME);
+            criteria.setCursor(first.getNextCursor());
+            CursorPage<ExerciseDto> second = exerciseService.searchExercises(criteria, TEST_USERNAME);
+
+            // Then
+            assertEquals(List.of("Bench", "Deadlift", "Row"), first.getItems().stream().map(ExerciseDto::getName).toList());
+            assertEquals(List.of("squat"), second.getItems().stream().map(ExerciseDto::getName).toList());
+            assertNull(second.getNextCursor());
+            verify(exerciseRepository, times(1)).findAll();
+        }
+
+        @Test
+        @DisplayName("should filter standalone exercises in the query and continue after the cursor")
+        void pagesStandaloneInQuery() {
+            // Given
+            when(exerciseRepository.findStandaloneOrderById(any()))
+                    .thenReturn(List.of(exercise(2L, "Bench"), exercise(5L, "Row")));
+            when(exerciseRepository.findStandaloneOrderByIdAfter(eq(2L), any()))
+                    .thenReturn(List.of(exercise(5L, "Row")));
+            ExerciseSearchCriteria criteria = new ExerciseSearchCriteria();
+            criteria.setStandaloneOnly(true);
+            criteria.setSort(ExerciseSearchCriteria.SortOrder.ID);
+            criteria.setSize(1);
+
+            // When
+            CursorPage<ExerciseDto> first = exerciseService.searchExercises(criteria, TEST_USERNAME);
+            criteria.setCursor(first.getNextCursor());
+            CursorPage<ExerciseDto> second = exerciseService.searchExercises(criteria, TEST_USERNAME);
+
+            // Then
+            assertEquals(2L, first.getItems().get(0).getId());
+            assertEquals(5L, second.getItems().get(0).getId());
+            assertNull(second.getNextCursor());
+            verify(exerciseRepository, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("should reject a cursor issued for another sort order")
+        void rejectsCursorOfOtherSort() {
+            // Given
+            String byIdCursor = new ExerciseCursor(ExerciseSearchCriteria.SortOrder.ID, 2L, null).encode();
+            ExerciseSearchCriteria criteria = new ExerciseSearchCriteria();
+            criteria.setCursor(byIdCursor);
+
+            // When/Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> exerciseService.searchExercises(criteria, TEST_USERNAME)
+            );
+            assertEquals("Invalid cursor", exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("usage")
+    class Usage {
+
+        @Test
+        @DisplayName("should group ordered usage rows into programs and days")
+        void groupsRows() {
+            // Given
+            when(exerciseRepository.findUsageRowsByIdIn(any())).thenReturn(List.of(
+                    new ExerciseUsageRow(1L, "Squat", 10L, "Strength", 100L, WorkoutDay.DayOfWeek.MONDAY),
+                    new ExerciseUsageRow(1L, "Squat", 10L, "Strength", 101L, WorkoutDay.DayOfWeek.FRIDAY),
+                    new ExerciseUsageRow(1L, "Squat", 11L, "Hypertrophy", 110L, WorkoutDay.DayOfWeek.TUESDAY),
+                    new ExerciseUsageRow(2L, "Curl", null, null, null, null)));
+
+            // When
+            List<ExerciseUsageDto> usages = exerciseService.getExerciseUsages(List.of(1L, 2L), TEST_USERNAME);
+
+            // Then
+            assertEquals(2, usages.size());
+            assertEquals(2, usages.get(0).getPrograms().size());
+            assertEquals(List.of("MONDAY", "FRIDAY"), usages.get(0).getPrograms().get(0).getDays().stream()
+                    .map(ExerciseUsageDto.WorkoutDayUsageDto::getDayOfWeek).toList());
+            assertTrue(usages.get(1).getPrograms().isEmpty());
+            verify(exerciseRepository, times(1)).findUsageRowsByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("should list every unknown exercise in a single error")
+        void reportsMissingIds() {
+            // Given
+            when(exerciseRepository.findUsageRowsByIdIn(any())).thenReturn(List.of(
+                    new ExerciseUsageRow(1L, "Squat", null, null, null, null)));
+
+            // When/Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> exerciseService.getExerciseUsages(List.of(1L, 5L, 6L), TEST_USERNAME)
+            );
+            assertEquals("Exercises not found: [5, 6]", exception.getMessage());
+        }
+    }
+
+    private Exercise exercise(Long id, String name) {
+        Exercise exercise = new Exercise();
+        exercise.setId(id);
+        exercise.setName(name);
+        exercise.setWorkoutDayExercises(new HashSet<>());
+        return exercise;
+    }
+}
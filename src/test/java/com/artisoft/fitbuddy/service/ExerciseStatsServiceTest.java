@@ -0,0 +1,118 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ExerciseStatsDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+@Import({ProgressLogService.class, ExerciseStatsService.class, VolumeRollupService.class,
+        ProgramActivityService.class})
+class ExerciseStatsServiceTest {
+
+    private static final String TEST_USERNAME = "lifter";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProgressLogService progressLogService;
+
+    @Autowired
+    private ExerciseStatsService exerciseStatsService;
+
+    private WorkoutProgram program;
+    private WorkoutDay day;
+    private WorkoutDayExercise squat;
+    private Exercise frontSquat;
+
+    @BeforeEach
+    void setUp() {
+        TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+        program = fixtures.program(fixtures.user(TEST_USERNAME), "Strength");
+        day = fixtures.day(program, WorkoutDay.DayOfWeek.MONDAY);
+
+        Exercise backSquat = fixtures.exercise("Back squat");
+        frontSquat = fixtures.exercise("Front squat");
+        squat = fixtures.plannedExercise(day, backSquat, 0, 3, 5);
+    }
+
+    @Test
+    @DisplayName("new logs should be folded into the running records")
+    void recordsNewLogs() {
+        // When
+        progressLogService.createProgressLog(log(LocalDate.of(2024, 3, 1), progress(null, List.of(5, 5), List.of(100.0, 100.0))), TEST_USERNAME);
+        progressLogService.createProgressLog(log(LocalDate.of(2024, 3, 8), progress(null, List.of(3, 1), List.of(105.0, 120.0))), TEST_USERNAME);
+
+        // Then
+        ExerciseStatsDto stats = exerciseStatsService.getExerciseStats(squat.getExercise().getId(), TEST_USERNAME);
+        assertEquals(120.0, stats.getMaxWeight());
+        assertEquals(4, stats.getTotalSets());
+        assertEquals(100.0 * 5 * 2 + 105.0 * 3 + 120.0, stats.getTotalVolume(), 0.001);
+        // 100 x 5 and 105 x 3 estimate under 120, so the single is the best set
+        assertEquals(120.0, stats.getEstimatedOneRepMax(), 0.001);
+        assertEquals(1, stats.getBestSetReps());
+        assertEquals(LocalDate.of(2024, 3, 8), stats.getLastPerformed());
+    }
+
+    @Test
+    @DisplayName("editing or deleting a log should rebuild records of every affected exercise")
+    void rebuildsOnUpdateAndDelete() {
+        // Given
+        progressLogService.createProgressLog(log(LocalDate.of(2024, 3, 1), progress(null, List.of(5), List.of(100.0))), TEST_USERNAME);
+        ProgressLogDto heavy = progressLogService.createProgressLog(
+                log(LocalDate.of(2024, 3, 8), progress(null, List.of(5), List.of(140.0))), TEST_USERNAME);
+
+        // When the heavy session turns out to have been front squats
+        progressLogService.updateProgressLog(heavy.getId(),
+                log(LocalDate.of(2024, 3, 8), progress(frontSquat.getId(), List.of(5), List.of(90.0))), TEST_USERNAME);
+
+        // Then the back squat record drops back and the front squat gets its own
+        ExerciseStatsDto backSquatStats = exerciseStatsService.getExerciseStats(squat.getExercise().getId(), TEST_USERNAME);
+        assertEquals(100.0, backSquatStats.getMaxWeight());
+        assertEquals(LocalDate.of(2024, 3, 1), backSquatStats.getLastPerformed());
+        assertEquals(90.0, exerciseStatsService.getExerciseStats(frontSquat.getId(), TEST_USERNAME).getMaxWeight());
+
+        // When
+        progressLogService.deleteProgressLog(heavy.getId(), TEST_USERNAME);
+
+        // Then
+        assertThrows(IllegalArgumentException.class,
+                () -> exerciseStatsService.getExerciseStats(frontSquat.getId(), TEST_USERNAME));
+        assertEquals(1, exerciseStatsService.getExerciseStats(TEST_USERNAME).size());
+    }
+
+    private ProgressLogDto log(LocalDate date, ExerciseProgressDto... progresses) {
+        ProgressLogDto dto = new ProgressLogDto();
+        dto.setDate(date);
+        dto.setWorkoutProgramId(program.getId());
+        dto.setWorkoutDayId(day.getId());
+        dto.setExerciseProgresses(List.of(progresses));
+        return dto;
+    }
+
+    private ExerciseProgressDto progress(Long replacementId, List<Integer> reps, List<Double> weights) {
+        ExerciseProgressDto dto = new ExerciseProgressDto();
+        dto.setOrderIndex(0);
+        dto.setWorkoutDayExerciseId(squat.getId());
+        dto.setReplacementExerciseId(replacementId);
+        dto.setActualSets(reps.size());
+        dto.setRepsPerSet(reps);
+        dto.setWeightPerSet(weights);
+        dto.setCompleted(true);
+        return dto;
+    }
+}
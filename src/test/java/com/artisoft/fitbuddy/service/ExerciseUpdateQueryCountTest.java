@@ -0,0 +1,105 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements {@link ExerciseService#updateExercise} needs for its access check as the number
+ * of workout days using the exercise grows. It used to walk every usage and lazily load its day,
+ * program and user.
+ */
+@JpaSliceTest
+@Import({ExerciseService.class, ExerciseCatalogCache.class, ExerciseSearchIndex.class})
+class ExerciseUpdateQueryCountTest {
+
+    private static final String TEST_USERNAME = "owner";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ExerciseService exerciseService;
+
+    private TrainingFixtures fixtures;
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        fixtures = new TrainingFixtures(entityManager);
+        owner = fixtures.user(TEST_USERNAME);
+    }
+
+    @Test
+    @DisplayName("should check access with a constant number of statements")
+    void constantStatementCount() {
+        long fewUsages = statementsToUpdate(exerciseUsedInDays(owner, 1));
+        long manyUsages = statementsToUpdate(exerciseUsedInDays(owner, 200));
+
+        // Load the exercise, check for foreign usages, update the row
+        assertEquals(3, fewUsages);
+        assertEquals(fewUsages, manyUsages, "statements with 200 usages");
+    }
+
+    @Test
+    @DisplayName("should deny the update when another user's program uses the exercise")
+    void deniesForeignUsage() {
+        Exercise exercise = exerciseUsedInDays(owner, 3);
+        usedInDay(exercise, fixtures.user("someone"));
+        entityManager.flush();
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> exerciseService.updateExercise(exercise.getId(), update(), TEST_USERNAME)
+        );
+        assertEquals("Access denied", exception.getMessage());
+    }
+
+    private long statementsToUpdate(Exercise exercise) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        exerciseService.updateExercise(exercise.getId(), update(), TEST_USERNAME);
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Exercise exerciseUsedInDays(User user, int days) {
+        Exercise exercise = fixtures.exercise("Squat");
+        for (int i = 0; i < days; i++) {
+            usedInDay(exercise, user);
+        }
+        return exercise;
+    }
+
+    private void usedInDay(Exercise exercise, User user) {
+        WorkoutDay day = fixtures.day(fixtures.program(user, "Program"), WorkoutDay.DayOfWeek.MONDAY);
+        fixtures.plannedExercise(day, exercise, 0, 3, 5);
+    }
+
+    private ExerciseDto update() {
+        ExerciseDto dto = new ExerciseDto();
+        dto.setName("Back squat");
+        dto.setDefaultSets(5);
+        dto.setDefaultRepsPerSet(5);
+        return dto;
+    }
+}
@@ -0,0 +1,142 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.dto.WorkoutProgramDto;
+import com.artisoft.fitbuddy.dto.WorkoutProgramWithLogsDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+@Import({ProgressLogService.class, ExerciseStatsService.class, VolumeRollupService.class,
+        ProgramActivityService.class, WorkoutProgramService.class})
+class ProgramActivityServiceTest {
+
+    private static final String TEST_USERNAME = "regular";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProgressLogService progressLogService;
+
+    @Autowired
+    private ProgramActivityService programActivityService;
+
+    @Autowired
+    private WorkoutProgramService workoutProgramService;
+
+    private WorkoutProgram program;
+    private WorkoutProgram unusedProgram;
+    private WorkoutDay day;
+    private WorkoutDayExercise row;
+
+    @BeforeEach
+    void setUp() {
+        TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+        User user = fixtures.user(TEST_USERNAME);
+
+        program = fixtures.program(user, "Strength");
+        unusedProgram = fixtures.program(user, "Mobility");
+        day = fixtures.day(program, WorkoutDay.DayOfWeek.FRIDAY);
+        row = fixtures.plannedExercise(day, fixtures.exercise("Deadlift"), 0, 1, 5);
+    }
+
+    @Test
+    @DisplayName("should keep last log date and log count in step with log writes")
+    void tracksLogWrites() {
+        // When
+        progressLogService.createProgressLog(log(LocalDate.of(2024, 5, 3)), TEST_USERNAME);
+        ProgressLogDto latest = progressLogService.createProgressLog(log(LocalDate.of(2024, 5, 10)), TEST_USERNAME);
+        progressLogService.createProgressLog(log(LocalDate.of(2024, 5, 1)), TEST_USERNAME);
+
+        // Then
+        assertActivity(program, LocalDate.of(2024, 5, 10), 3);
+
+        // When the latest log is deleted
+        progressLogService.deleteProgressLog(latest.getId(), TEST_USERNAME);
+
+        // Then
+        assertActivity(program, LocalDate.of(2024, 5, 3), 2);
+        assertActivity(unusedProgram, null, 0);
+    }
+
+    @Test
+    @DisplayName("should list programs with and without logs from the activity columns")
+    void listsProgramsByActivity() {
+        // Given
+        progressLogService.createProgressLog(log(LocalDate.of(2024, 6, 7)), TEST_USERNAME);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<WorkoutProgramWithLogsDto> withLogs = workoutProgramService.getWorkoutProgramsWithLogs(TEST_USERNAME);
+        List<WorkoutProgramDto> withoutLogs = workoutProgramService.getWorkoutProgramsWithoutLogs(TEST_USERNAME);
+
+        // Then
+        assertEquals(1, withLogs.size());
+        assertEquals(program.getId(), withLogs.get(0).getId());
+        assertEquals(LocalDate.of(2024, 6, 7), withLogs.get(0).getLastLogDate());
+        assertEquals(List.of(unusedProgram.getId()), withoutLogs.stream().map(WorkoutProgramDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("should repair programs whose activity drifted from their logs")
+    void repairsDrift() {
+        // Given
+        progressLogService.createProgressLog(log(LocalDate.of(2024, 7, 1)), TEST_USERNAME);
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE workout_programs SET log_count = 7, last_log_date = NULL WHERE id = ?1")
+                .setParameter(1, program.getId())
+                .executeUpdate();
+        entityManager.createNativeQuery("UPDATE workout_programs SET log_count = 2 WHERE id = ?1")
+                .setParameter(1, unusedProgram.getId())
+                .executeUpdate();
+
+        // When
+        int repaired = programActivityService.repair();
+
+        // Then
+        assertEquals(2, repaired);
+        assertActivity(program, LocalDate.of(2024, 7, 1), 1);
+        assertActivity(unusedProgram, null, 0);
+        assertEquals(0, programActivityService.repair());
+    }
+
+    private void assertActivity(WorkoutProgram workoutProgram, LocalDate lastLogDate, int logCount) {
+        entityManager.flush();
+        entityManager.clear();
+        WorkoutProgram reloaded = entityManager.find(WorkoutProgram.class, workoutProgram.getId());
+        assertEquals(lastLogDate, reloaded.getLastLogDate());
+        assertEquals(logCount, reloaded.getLogCount());
+    }
+
+    private ProgressLogDto log(LocalDate date) {
+        ExerciseProgressDto progress = new ExerciseProgressDto();
+        progress.setOrderIndex(0);
+        progress.setWorkoutDayExerciseId(row.getId());
+        progress.setActualSets(1);
+        progress.setRepsPerSet(List.of(5));
+        progress.setWeightPerSet(List.of(140.0));
+        progress.setCompleted(true);
+
+        ProgressLogDto dto = new ProgressLogDto();
+        dto.setDate(date);
+        dto.setWorkoutProgramId(program.getId());
+        dto.setWorkoutDayId(day.getId());
+        dto.setExerciseProgresses(List.of(progress));
+        return dto;
+    }
+}
@@ -0,0 +1,178 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ExerciseStatsDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.dto.VolumeRollupDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Writes logs of one user from several threads at once and checks the derived stats and rollups. Runs
+ * outside the test transaction so the writes really compete; tables are emptied after each test.
+ */
+@JpaSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProgressLogService.class, ExerciseStatsService.class, VolumeRollupService.class,
+        ProgramActivityService.class})
+class ProgressLogConcurrencyTest {
+
+    private static final String TEST_USERNAME = "lifter";
+    private static final int THREADS = 8;
+    private static final int SETS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProgressLogService progressLogService;
+
+    @Autowired
+    private ExerciseStatsService exerciseStatsService;
+
+    @Autowired
+    private VolumeRollupService volumeRollupService;
+
+    private Long programId;
+    private Long dayId;
+    private Long plannedId;
+    private Long exerciseId;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+            WorkoutProgram program = fixtures.program(fixtures.user(TEST_USERNAME), "Strength");
+            WorkoutDay day = fixtures.day(program, WorkoutDay.DayOfWeek.MONDAY);
+            Exercise exercise = fixtures.exercise("Squat");
+            WorkoutDayExercise wde = fixtures.plannedExercise(day, exercise, 0, SETS, 5);
+
+            programId = program.getId();
+            dayId = day.getId();
+            plannedId = wde.getId();
+            exerciseId = exercise.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        TrainingFixtures.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("should fold concurrent logs of the same exercise into one stats row")
+    void concurrentLogs() throws Exception {
+        // When the first logs race to create the row, then the next ones race to update it
+        logConcurrently(LocalDate.of(2024, 3, 4));
+        logConcurrently(LocalDate.of(2024, 3, 11));
+
+        // Then
+        ExerciseStatsDto stats = exerciseStatsService.getExerciseStats(exerciseId, TEST_USERNAME);
+        assertEquals(2 * THREADS * SETS, stats.getTotalSets());
+        assertEquals(2 * THREADS * SETS * 5 * 100.0, stats.getTotalVolume());
+        assertEquals(LocalDate.of(2024, 3, 11), stats.getLastPerformed());
+    }
+
+    @Test
+    @DisplayName("should keep rollups exact when a rebuild runs during log writes")
+    void rebuildDuringWrites() throws Exception {
+        // Given
+        logConcurrently(LocalDate.of(2024, 3, 4));
+
+        // When rebuilds race with logs on other days
+        List<Callable<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDate date = LocalDate.of(2024, 3, 5).plusDays(i);
+            tasks.add(() -> progressLogService.createProgressLog(log(date), TEST_USERNAME));
+            tasks.add(() -> {
+                volumeRollupService.rebuildRollups(TEST_USERNAME);
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        // Then the rollups match a rebuild from the stored logs
+        List<VolumeRollupDto> maintained = days();
+        volumeRollupService.rebuildRollups(TEST_USERNAME);
+        assertEquals(days(), maintained);
+        assertEquals(1 + THREADS, maintained.size());
+    }
+
+    private List<VolumeRollupDto> days() {
+        return volumeRollupService.getVolume(TEST_USERNAME, ExerciseVolumeRollup.Granularity.DAY,
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), null);
+    }
+
+    private void logConcurrently(LocalDate date) throws Exception {
+        List<Callable<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> progressLogService.createProgressLog(log(date), TEST_USERNAME));
+        }
+        runConcurrently(tasks);
+    }
+
+    private void runConcurrently(List<Callable<?>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(tasks.size())) {
+            for (Callable<?> task : tasks) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                // Rethrows whatever made a write fail
+                result.get();
+            }
+        }
+    }
+
+    private ProgressLogDto log(LocalDate date) {
+        ExerciseProgressDto progress = new ExerciseProgressDto();
+        progress.setOrderIndex(0);
+        progress.setWorkoutDayExerciseId(plannedId);
+        progress.setActualSets(SETS);
+        progress.setRepsPerSet(List.of(5, 5, 5));
+        progress.setWeightPerSet(List.of(100.0, 100.0, 100.0));
+        progress.setCompleted(true);
+
+        ProgressLogDto dto = new ProgressLogDto();
+        dto.setDate(date);
+        dto.setWorkoutProgramId(programId);
+        dto.setWorkoutDayId(dayId);
+        dto.setExerciseProgresses(List.of(progress));
+        return dto;
+    }
+}
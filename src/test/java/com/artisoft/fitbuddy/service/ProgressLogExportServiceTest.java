@@ -0,0 +1,107 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@Import(ProgressLogExportService.class)
+class ProgressLogExportServiceTest {
+
+    private static final String TEST_USERNAME = "exporter";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProgressLogExportService exportService;
+
+    @Test
+    @DisplayName("should write one JSON line per log with exercises and sets in order")
+    void exportsNdjson() throws Exception {
+        // Given
+        TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+        WorkoutProgram program = fixtures.program(fixtures.user(TEST_USERNAME), "Strength");
+        WorkoutDay day = fixtures.day(program, WorkoutDay.DayOfWeek.FRIDAY);
+
+        Exercise squat = fixtures.exercise("Squat");
+        Exercise legPress = fixtures.exercise("Leg press");
+        WorkoutDayExercise plannedSquat = fixtures.plannedExercise(day, squat, 0, 3, 5);
+
+        persistLog(program, day, LocalDate.of(2024, 2, 2), plannedSquat, null);
+        persistLog(program, day, LocalDate.of(2024, 2, 9), plannedSquat, legPress);
+        // A log with no exercises and another user's log must not break or leak into the stream
+        ProgressLog emptyLog = new ProgressLog();
+        emptyLog.setDate(LocalDate.of(2024, 2, 16));
+        emptyLog.setWorkoutProgram(program);
+        entityManager.persist(emptyLog);
+        persistLog(fixtures.program(fixtures.user("someoneelse"), "Other"), null, LocalDate.of(2024, 2, 3), null, squat);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportUserHistory(TEST_USERNAME, out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+
+        ProgressLogDto first = objectMapper.readValue(lines.get(0), ProgressLogDto.class);
+        assertEquals(LocalDate.of(2024, 2, 2), first.getDate());
+        assertEquals("FRIDAY", first.getWorkoutDayName());
+        assertEquals(1, first.getExerciseProgresses().size());
+        assertEquals("Squat", first.getExerciseProgresses().get(0).getExerciseName());
+        assertEquals(List.of(5, 5, 3), first.getExerciseProgresses().get(0).getRepsPerSet());
+        assertEquals(List.of(100.0, 100.0, 110.0), first.getExerciseProgresses().get(0).getWeightPerSet());
+
+        ProgressLogDto second = objectMapper.readValue(lines.get(1), ProgressLogDto.class);
+        assertEquals("Leg press", second.getExerciseProgresses().get(0).getExerciseName());
+
+        ProgressLogDto third = objectMapper.readValue(lines.get(2), ProgressLogDto.class);
+        assertTrue(third.getExerciseProgresses().isEmpty());
+        assertNull(third.getWorkoutDayId());
+    }
+
+    private void persistLog(WorkoutProgram program, WorkoutDay day, LocalDate date,
+                            WorkoutDayExercise planned, Exercise replacement) {
+        ProgressLog log = new ProgressLog();
+        log.setDate(date);
+        log.setWorkoutProgram(program);
+        log.setWorkoutDay(day);
+
+        ExerciseProgress progress = new ExerciseProgress();
+        progress.setProgressLog(log);
+        progress.setPlannedExercise(planned);
+        progress.setReplacementExercise(replacement);
+        progress.setOrderIndex(0);
+        progress.setActualSets(3);
+        progress.addSetDetail(5, 100.0);
+        progress.addSetDetail(5, 100.0);
+        progress.addSetDetail(3, 110.0);
+        progress.setCompleted(true);
+        log.getExerciseProgresses().add(progress);
+        entityManager.persist(log);
+    }
+}
@@ -0,0 +1,268 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.dto.ProgressLogImportReport;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import com.artisoft.fitbuddy.repository.ProgressLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside the test transaction so every import chunk really commits; tables are emptied after each test.
+ */
+@JpaSliceTest
+@Slf4j
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+        ValidationAutoConfiguration.class})
+@Import({ProgressLogImportService.class, ProgressLogService.class, ExerciseStatsService.class,
+        VolumeRollupService.class, ProgramActivityService.class})
+class ProgressLogImportServiceTest {
+
+    private static final String TEST_USERNAME = "importer";
+    private static final int EXERCISES_PER_LOG = 6;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProgressLogRepository progressLogRepository;
+
+    @Autowired
+    private ProgressLogImportService importService;
+
+    @Autowired
+    private ProgressLogService progressLogService;
+
+    private TransactionTemplate transactionTemplate;
+    private Long programId;
+    private Long dayId;
+    private Long foreignProgramId;
+    private Long replacementId;
+    private List<Long> plannedIds;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+            WorkoutProgram program = fixtures.program(fixtures.user(TEST_USERNAME), "Strength");
+            foreignProgramId = fixtures.program(fixtures.user("someoneelse"), "Other").getId();
+            WorkoutDay day = fixtures.day(program, WorkoutDay.DayOfWeek.MONDAY);
+
+            plannedIds = new ArrayList<>();
+            for (int i = 0; i < EXERCISES_PER_LOG; i++) {
+                plannedIds.add(fixtures.plannedExercise(day, fixtures.exercise("Exercise " + i), i, 3, 10).getId());
+            }
+
+            programId = program.getId();
+            dayId = day.getId();
+            replacementId = fixtures.exercise("Replacement").getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        TrainingFixtures.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("NDJSON import should save valid lines and report the others by line number")
+    void importsNdjsonWithLineErrors() throws Exception {
+        // Given
+        String body = String.join("\n",
+                ndjsonLog(LocalDate.of(2023, 1, 2), programId, plannedIds.get(0)),
+                "{\"date\": \"2023-01-03\", ",
+                "",
+                ndjsonLog(LocalDate.of(2023, 1, 4), foreignProgramId, plannedIds.get(0)),
+                ndjsonLog(LocalDate.of(2023, 1, 5), programId, -1L),
+                ndjsonLog(LocalDate.of(2023, 1, 6), programId, plannedIds.get(1)));
+
+        // When
+        ProgressLogImportReport report = importService.importProgressLogs(
+                stream(body), ProgressLogImportService.ImportFormat.NDJSON, TEST_USERNAME);
+
+        // Then
+        assertEquals(2, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals(List.of(2L, 4L, 5L), report.getErrors().stream().map(ProgressLogImportReport.LineError::getLine).toList());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+        assertEquals("Workout program not found", report.getErrors().get(1).getMessage());
+        assertEquals("Planned exercises not found: [-1]", report.getErrors().get(2).getMessage());
+        assertEquals(2, progressLogRepository.count());
+    }
+
+    @Test
+    @DisplayName("NDJSON import should reject lines with null lists or flags one by one")
+    void rejectsNullFieldsPerLine() throws Exception {
+        // Given
+        String valid = ndjsonLog(LocalDate.of(2023, 3, 1), programId, null);
+        String body = String.join("\n",
+                valid,
+                valid.replaceFirst("\"exerciseProgresses\":\\[.*]}$", "\"exerciseProgresses\":null}"),
+                valid.replaceFirst("\"exerciseProgresses\":\\[", "\"exerciseProgresses\":[null,"),
+                valid.replaceFirst("\"repsPerSet\":\\[10,8,6]", "\"repsPerSet\":null"),
+                valid.replaceFirst("\"weightPerSet\":\\[50.0,55.0,60.0]", "\"weightPerSet\":null"),
+                valid.replaceFirst("\"completed\":true", "\"completed\":null"),
+                valid.replaceFirst("\"completed\":true", "\"completed\":true,\"skipped\":null"),
+                ndjsonLog(LocalDate.of(2023, 3, 2), programId, null));
+
+        // When
+        ProgressLogImportReport report = importService.importProgressLogs(
+                stream(body), ProgressLogImportService.ImportFormat.NDJSON, TEST_USERNAME);
+
+        // Then
+        assertEquals(2, report.getImported());
+        assertEquals(6, report.getFailed());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L),
+                report.getErrors().stream().map(ProgressLogImportReport.LineError::getLine).toList());
+        assertEquals(List.of("Exercise progresses are required", "Exercise progress must not be null",
+                        "Reps per set are required", "Weight per set is required", "Completed is required",
+                        "Skipped is required"),
+                report.getErrors().stream().map(ProgressLogImportReport.LineError::getMessage).toList());
+        assertEquals(2, progressLogRepository.count());
+    }
+
+    @Test
+    @DisplayName("NDJSON import should reject a null log or a null exercise progress by line")
+    void rejectsNullRecordsPerLine() throws Exception {
+        // Given
+        String valid = ndjsonLog(LocalDate.of(2023, 3, 1), programId, null);
+        String body = String.join("\n",
+                valid,
+                "null",
+                valid.replaceFirst("\"exerciseProgresses\":\\[.*]}$", "\"exerciseProgresses\":[null]}"),
+                ndjsonLog(LocalDate.of(2023, 3, 2), programId, null));
+
+        // When
+        ProgressLogImportReport report = importService.importProgressLogs(
+                stream(body), ProgressLogImportService.ImportFormat.NDJSON, TEST_USERNAME);
+
+        // Then
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(2L, 3L),
+                report.getErrors().stream().map(ProgressLogImportReport.LineError::getLine).toList());
+        assertEquals(List.of("Progress log must not be null", "Exercise progress must not be null"),
+                report.getErrors().stream().map(ProgressLogImportReport.LineError::getMessage).toList());
+        assertEquals(2, progressLogRepository.count());
+    }
+
+    @Test
+    @DisplayName("CSV import should group consecutive rows of the same session into one log")
+    void importsCsvGroupedBySession() throws Exception {
+        // Given
+        String body = String.join("\n",
+                "date,workoutProgramId,workoutDayId,orderIndex,workoutDayExerciseId,replacementExerciseId,sets,notes",
+                "2023-02-01," + programId + "," + dayId + ",0," + plannedIds.get(0) + ",,10x60;8x62.5,\"felt good, light\"",
+                "2023-02-01," + programId + "," + dayId + ",1," + plannedIds.get(1) + "," + replacementId + ",12x20;12x20,",
+                "2023-02-03," + programId + "," + dayId + ",0," + plannedIds.get(0) + ",,10xheavy,",
+                "2023-02-03," + programId + "," + dayId + ",1," + plannedIds.get(1) + ",,10x40,",
+                "2023-02-05," + programId + "," + dayId + ",0," + plannedIds.get(2) + ",,15;15;12,");
+
+        // When
+        ProgressLogImportReport report = importService.importProgressLogs(
+                stream(body), ProgressLogImportService.ImportFormat.CSV, TEST_USERNAME);
+
+        // Then
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(4L, report.getErrors().get(0).getLine());
+        assertEquals("Line 4: Invalid set '10xheavy'", report.getErrors().get(0).getMessage());
+
+        List<ProgressLogDto> logs = progressLogService.getProgressLogs(programId, null, null, TEST_USERNAME).getItems();
+        assertEquals(2, logs.size());
+        ProgressLogDto first = logs.stream().filter(log -> log.getDate().equals(LocalDate.of(2023, 2, 1))).findFirst().orElseThrow();
+        assertEquals(2, first.getExerciseProgresses().size());
+        assertEquals("felt good, light", first.getExerciseProgresses().get(0).getNotes());
+        assertEquals(List.of(60.0, 62.5), first.getExerciseProgresses().get(0).getWeightPerSet());
+        assertEquals("Replacement", first.getExerciseProgresses().get(1).getExerciseName());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("benchmark: bulk import throughput against one request per log")
+    void throughput() throws Exception {
+        int singleLogs = 200;
+        long start = System.nanoTime();
+        for (int i = 0; i < singleLogs; i++) {
+            ProgressLogDto dto = objectMapper.readValue(ndjsonLog(LocalDate.of(2020, 1, 1).plusDays(i), programId, null), ProgressLogDto.class);
+            progressLogService.createProgressLog(dto, TEST_USERNAME);
+        }
+        double singleRate = singleLogs / ((System.nanoTime() - start) / 1e9);
+
+        int bulkLogs = 2_000;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < bulkLogs; i++) {
+            body.append(ndjsonLog(LocalDate.of(2015, 1, 1).plusDays(i), programId, null)).append('\n');
+        }
+        start = System.nanoTime();
+        ProgressLogImportReport report = importService.importProgressLogs(
+                stream(body.toString()), ProgressLogImportService.ImportFormat.NDJSON, TEST_USERNAME);
+        double bulkRate = bulkLogs / ((System.nanoTime() - start) / 1e9);
+
+        log.info("Progress log import: single {} logs/s, bulk {} logs/s ({} logs)",
+                Math.round(singleRate), Math.round(bulkRate), bulkLogs);
+
+        assertEquals(bulkLogs, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertEquals(singleLogs + bulkLogs, progressLogRepository.count());
+    }
+
+    // A full session touching every planned exercise, with the first one optionally overridden
+    private String ndjsonLog(LocalDate date, Long workoutProgramId, Long firstPlannedId) {
+        StringBuilder json = new StringBuilder("{\"date\":\"").append(date)
+                .append("\",\"workoutProgramId\":").append(workoutProgramId)
+                .append(",\"workoutDayId\":").append(dayId)
+                .append(",\"exerciseProgresses\":[");
+        for (int i = 0; i < EXERCISES_PER_LOG; i++) {
+            Long plannedId = i == 0 && firstPlannedId != null ? firstPlannedId : plannedIds.get(i);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"workoutDayExerciseId\":").append(plannedId)
+                    .append(",\"orderIndex\":").append(i)
+                    .append(",\"actualSets\":3,\"repsPerSet\":[10,8,6],\"weightPerSet\":[50.0,55.0,60.0]")
+                    .append(",\"completed\":true}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,204 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressLogServiceTest {
+
+    private static final String TEST_USERNAME = "testuser";
+    private static final Long PROGRAM_ID = 10L;
+    private static final Long DAY_ID = 20L;
+
+    @Mock
+    private ProgressLogRepository progressLogRepository;
+
+    @Mock
+    private WorkoutProgramRepository workoutProgramRepository;
+
+    @Mock
+    private WorkoutDayRepository workoutDayRepository;
+
+    @Mock
+    private WorkoutDayExerciseRepository workoutDayExerciseRepository;
+
+    @Mock
+    private ExerciseRepository exerciseRepository;
+
+    @Mock
+    private ExerciseProgressRepository exerciseProgressRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ExerciseStatsService exerciseStatsService;
+
+    @Mock
+    private VolumeRollupService volumeRollupService;
+
+    @Mock
+    private ProgramActivityService programActivityService;
+
+    @InjectMocks
+    private ProgressLogService progressLogService;
+
+    private User user;
+    private WorkoutProgram program;
+    private WorkoutDay day;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername(TEST_USERNAME);
+
+        program = new WorkoutProgram();
+        program.setId(PROGRAM_ID);
+        program.setUser(user);
+
+        day = new WorkoutDay();
+        day.setId(DAY_ID);
+        day.setDayOfWeek(WorkoutDay.DayOfWeek.MONDAY);
+        day.setWorkoutProgram(program);
+    }
+
+    @Nested
+    @DisplayName("createProgressLog")
+    class CreateProgressLog {
+
+        @BeforeEach
+        void setUp() {
+            when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(user));
+            when(workoutProgramRepository.findById(PROGRAM_ID)).thenReturn(Optional.of(program));
+            when(workoutDayRepository.findById(DAY_ID)).thenReturn(Optional.of(day));
+        }
+
+        @Test
+        @DisplayName("should resolve planned and replacement exercises with one batch query each")
+        void resolvesReferencesInBatches() {
+            // Given
+            WorkoutDayExercise squat = plannedExercise(100L, day, exercise(1L, "Squat"));
+            WorkoutDayExercise bench = plannedExercise(101L, day, exercise(2L, "Bench"));
+            Exercise lunge = exercise(3L, "Lunge");
+            when(workoutDayExerciseRepository.findAllWithDayAndExerciseByIdIn(any()))
+                    .thenReturn(List.of(squat, bench));
+            when(exerciseRepository.findAllById(any())).thenReturn(List.of(lunge));
+            when(progressLogRepository.save(any(ProgressLog.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            ProgressLogDto request = progressLogDto(
+                    progressDto(0, 100L, null),
+                    progressDto(1, 101L, 3L),
+                    progressDto(2, 100L, null));
+
+            // When
+            ProgressLogDto result = progressLogService.createProgressLog(request, TEST_USERNAME);
+
+            // Then
+            assertEquals(3, result.getExerciseProgresses().size());
+            assertEquals("Lunge", result.getExerciseProgresses().get(1).getExerciseName());
+            verify(workoutDayExerciseRepository, times(1)).findAllWithDayAndExerciseByIdIn(any());
+            verify(exerciseRepository, times(1)).findAllById(any());
+            verify(workoutDayExerciseRepository, never()).findById(anyLong());
+            verify(exerciseRepository, never()).findById(anyLong());
+        }
+
+        @Test
+        @DisplayName("should list every missing planned exercise in a single error")
+        void reportsAllMissingIds() {
+            // Given
+            WorkoutDayExercise squat = plannedExercise(100L, day, exercise(1L, "Squat"));
+            when(workoutDayExerciseRepository.findAllWithDayAndExerciseByIdIn(any())).thenReturn(List.of(squat));
+
+            ProgressLogDto request = progressLogDto(
+                    progressDto(0, 100L, null),
+                    progressDto(1, 101L, null),
+                    progressDto(2, 102L, null));
+
+            // When/Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> progressLogService.createProgressLog(request, TEST_USERNAME)
+            );
+            assertEquals("Planned exercises not found: [101, 102]", exception.getMessage());
+            verify(progressLogRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should reject planned exercises from another program")
+        void rejectsForeignPlannedExercise() {
+            // Given
+            WorkoutProgram otherProgram = new WorkoutProgram();
+            otherProgram.setId(99L);
+            WorkoutDay otherDay = new WorkoutDay();
+            otherDay.setId(98L);
+            otherDay.setWorkoutProgram(otherProgram);
+            WorkoutDayExercise foreign = plannedExercise(200L, otherDay, exercise(1L, "Squat"));
+            when(workoutDayExerciseRepository.findAllWithDayAndExerciseByIdIn(any())).thenReturn(List.of(foreign));
+
+            ProgressLogDto request = progressLogDto(progressDto(0, 200L, null));
+
+            // When/Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> progressLogService.createProgressLog(request, TEST_USERNAME)
+            );
+            assertEquals("Planned exercises not found: [200]", exception.getMessage());
+        }
+    }
+
+    private ProgressLogDto progressLogDto(ExerciseProgressDto... progresses) {
+        ProgressLogDto dto = new ProgressLogDto();
+        dto.setDate(LocalDate.of(2024, 1, 15));
+        dto.setWorkoutProgramId(PROGRAM_ID);
+        dto.setWorkoutDayId(DAY_ID);
+        dto.setExerciseProgresses(List.of(progresses));
+        return dto;
+    }
+
+    private ExerciseProgressDto progressDto(int orderIndex, Long plannedId, Long replacementId) {
+        ExerciseProgressDto dto = new ExerciseProgressDto();
+        dto.setOrderIndex(orderIndex);
+        dto.setWorkoutDayExerciseId(plannedId);
+        dto.setReplacementExerciseId(replacementId);
+        dto.setActualSets(2);
+        dto.setRepsPerSet(List.of(10, 8));
+        dto.setWeightPerSet(List.of(60.0, 65.0));
+        dto.setCompleted(true);
+        return dto;
+    }
+
+    private Exercise exercise(Long id, String name) {
+        Exercise exercise = new Exercise();
+        exercise.setId(id);
+        exercise.setName(name);
+        return exercise;
+    }
+
+    private WorkoutDayExercise plannedExercise(Long id, WorkoutDay workoutDay, Exercise exercise) {
+        WorkoutDayExercise wde = new WorkoutDayExercise();
+        wde.setId(id);
+        wde.setWorkoutDay(workoutDay);
+        wde.setExercise(exercise);
+        return wde;
+    }
+}
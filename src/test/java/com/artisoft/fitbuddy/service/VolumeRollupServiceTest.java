@@ -0,0 +1,140 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.ExerciseProgressDto;
+import com.artisoft.fitbuddy.dto.ProgressLogDto;
+import com.artisoft.fitbuddy.dto.VolumeRollupDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.model.ExerciseVolumeRollup.Granularity;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+@Import({ProgressLogService.class, ExerciseStatsService.class, VolumeRollupService.class,
+        ProgramActivityService.class})
+class VolumeRollupServiceTest {
+
+    private static final String TEST_USERNAME = "charter";
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProgressLogService progressLogService;
+
+    @Autowired
+    private VolumeRollupService volumeRollupService;
+
+    private WorkoutProgram program;
+    private WorkoutDay day;
+    private WorkoutDayExercise row;
+
+    @BeforeEach
+    void setUp() {
+        TrainingFixtures fixtures = new TrainingFixtures(entityManager);
+        program = fixtures.program(fixtures.user(TEST_USERNAME), "Volume");
+        day = fixtures.day(program, WorkoutDay.DayOfWeek.WEDNESDAY);
+        row = fixtures.plannedExercise(day, fixtures.exercise("Barbell row"), 0, 2, 10);
+    }
+
+    @Test
+    @DisplayName("logs should be summed into their day, ISO week and month")
+    void bucketsByGranularity() {
+        // When: Wednesday and Friday of the same week, then a session in February
+        create(LocalDate.of(2024, 1, 31), 10, 50.0);
+        create(LocalDate.of(2024, 2, 2), 10, 60.0);
+        create(LocalDate.of(2024, 2, 14), 8, 70.0);
+
+        // Then
+        assertEquals(3, volume(Granularity.DAY).size());
+
+        List<VolumeRollupDto> weeks = volume(Granularity.WEEK);
+        assertEquals(2, weeks.size());
+        assertEquals(LocalDate.of(2024, 1, 29), weeks.get(0).getPeriodStart());
+        assertEquals(2 * 10 * 50.0 + 2 * 10 * 60.0, weeks.get(0).getVolume(), 0.001);
+        assertEquals(2, weeks.get(0).getSessions());
+
+        List<VolumeRollupDto> months = volume(Granularity.MONTH);
+        assertEquals(2, months.size());
+        assertEquals(LocalDate.of(2024, 2, 1), months.get(1).getPeriodStart());
+        assertEquals(4, months.get(1).getSets());
+        assertEquals(36, months.get(1).getReps());
+        assertEquals("Barbell row", months.get(1).getExerciseName());
+    }
+
+    @Test
+    @DisplayName("edits and deletions should be applied as deltas and match a full rebuild")
+    void appliesDeltas() {
+        // Given
+        create(LocalDate.of(2024, 3, 4), 10, 50.0);
+        ProgressLogDto second = create(LocalDate.of(2024, 3, 6), 10, 50.0);
+        ProgressLogDto third = create(LocalDate.of(2024, 3, 8), 10, 50.0);
+
+        // When
+        progressLogService.updateProgressLog(second.getId(), log(second.getDate(), 5, 80.0), TEST_USERNAME);
+        progressLogService.deleteProgressLog(third.getId(), TEST_USERNAME);
+
+        // Then
+        List<VolumeRollupDto> weeks = volume(Granularity.WEEK);
+        assertEquals(1, weeks.size());
+        assertEquals(2 * 10 * 50.0 + 2 * 5 * 80.0, weeks.get(0).getVolume(), 0.001);
+        assertEquals(2, weeks.get(0).getSessions());
+        assertEquals(2, volume(Granularity.DAY).size());
+
+        // When
+        volumeRollupService.rebuildRollups(TEST_USERNAME);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        for (Granularity granularity : Granularity.values()) {
+            List<VolumeRollupDto> rebuilt = volume(granularity);
+            assertEquals(granularity == Granularity.DAY ? 2 : 1, rebuilt.size());
+        }
+        assertEquals(weeks, volume(Granularity.WEEK));
+    }
+
+    @Test
+    @DisplayName("should reject an inverted date range")
+    void rejectsInvertedRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> volumeRollupService.getVolume(TEST_USERNAME, Granularity.WEEK, TO, FROM, null));
+    }
+
+    private List<VolumeRollupDto> volume(Granularity granularity) {
+        return volumeRollupService.getVolume(TEST_USERNAME, granularity, FROM, TO, row.getExercise().getId());
+    }
+
+    private ProgressLogDto create(LocalDate date, int reps, double weight) {
+        return progressLogService.createProgressLog(log(date, reps, weight), TEST_USERNAME);
+    }
+
+    private ProgressLogDto log(LocalDate date, int reps, double weight) {
+        ExerciseProgressDto progress = new ExerciseProgressDto();
+        progress.setOrderIndex(0);
+        progress.setWorkoutDayExerciseId(row.getId());
+        progress.setActualSets(2);
+        progress.setRepsPerSet(List.of(reps, reps));
+        progress.setWeightPerSet(List.of(weight, weight));
+        progress.setCompleted(true);
+
+        ProgressLogDto dto = new ProgressLogDto();
+        dto.setDate(date);
+        dto.setWorkoutProgramId(program.getId());
+        dto.setWorkoutDayId(day.getId());
+        dto.setExerciseProgresses(List.of(progress));
+        return dto;
+    }
+}
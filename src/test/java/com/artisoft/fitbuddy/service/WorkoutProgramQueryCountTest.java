@@ -0,0 +1,158 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.WorkoutDayDto;
+import com.artisoft.fitbuddy.dto.WorkoutDayExerciseDto;
+import com.artisoft.fitbuddy.dto.WorkoutProgramDto;
+import com.artisoft.fitbuddy.model.Exercise;
+import com.artisoft.fitbuddy.model.WorkoutDay;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements needed to build and read whole workout programs.
+ */
+@JpaSliceTest
+@Import(WorkoutProgramService.class)
+class WorkoutProgramQueryCountTest {
+
+    private static final String TEST_USERNAME = "lifter";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WorkoutProgramService workoutProgramService;
+
+    private Statistics statistics;
+    private final List<Exercise> catalog = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        new TrainingFixtures(entityManager).user(TEST_USERNAME);
+
+        for (int i = 0; i < 20; i++) {
+            Exercise exercise = new Exercise();
+            exercise.setName("Exercise " + i);
+            exercise.setDefaultSets(3);
+            exercise.setDefaultRepsPerSet(10);
+            entityManager.persist(exercise);
+            catalog.add(exercise);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should create a 7-day, 60-exercise program with a handful of statements")
+    void createsProgramInBatches() {
+        // Given
+        WorkoutProgramDto dto = program(7, 60);
+        statistics.clear();
+
+        // When
+        WorkoutProgramDto created = workoutProgramService.createWorkoutProgram(dto, TEST_USERNAME);
+        entityManager.flush();
+
+        // Then
+        long statements = statistics.getPrepareStatementCount();
+        // User, exercises, program insert, a few sequence calls and one batch per table
+        assertTrue(statements <= 10, "statements: " + statements);
+        assertEquals(7, created.getWorkoutDays().size());
+        assertEquals(60, created.getWorkoutDays().stream().mapToInt(day -> day.getExercises().size()).sum());
+        assertTrue(created.getWorkoutDays().stream()
+                .flatMap(day -> day.getExercises().stream())
+                .allMatch(exercise -> exercise.getId() != null && exercise.getSets() == 3));
+    }
+
+    @Test
+    @DisplayName("should load a user's program tree with a constant number of statements")
+    void loadsProgramTreeWithConstantStatements() {
+        // Given
+        workoutProgramService.createWorkoutProgram(program(3, 10), TEST_USERNAME);
+        long fewPrograms = statementsToLoadPrograms(1, 10);
+        for (int i = 0; i < 9; i++) {
+            workoutProgramService.createWorkoutProgram(program(7, 60), TEST_USERNAME);
+        }
+
+        // When
+        long manyPrograms = statementsToLoadPrograms(10, 60);
+
+        // Then user, programs, days and day exercises with their exercises
+        assertEquals(4, fewPrograms);
+        assertEquals(fewPrograms, manyPrograms, "statements for 10 programs");
+    }
+
+    @Test
+    @DisplayName("should list every unknown exercise in a single error")
+    void reportsAllMissingExercises() {
+        // Given
+        WorkoutProgramDto dto = program(1, 1);
+        dto.getWorkoutDays().get(0).getExercises().add(plan(-1L, 1));
+        dto.getWorkoutDays().get(0).getExercises().add(plan(-2L, 2));
+
+        // When/Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> workoutProgramService.createWorkoutProgram(dto, TEST_USERNAME)
+        );
+        assertEquals("Exercises not found: [-1, -2]", exception.getMessage());
+    }
+
+    private long statementsToLoadPrograms(int expectedPrograms, int exercisesInLastProgram) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<WorkoutProgramDto> programs = workoutProgramService.getUserWorkoutPrograms(TEST_USERNAME);
+
+        assertEquals(expectedPrograms, programs.size());
+        WorkoutProgramDto last = programs.get(programs.size() - 1);
+        assertEquals(exercisesInLastProgram, last.getWorkoutDays().stream().mapToInt(day -> day.getExercises().size()).sum());
+        assertEquals("MONDAY", last.getWorkoutDays().get(0).getDayOfWeek());
+        assertEquals(0, last.getWorkoutDays().get(0).getExercises().get(0).getOrderIndex());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private WorkoutProgramDto program(int days, int exercises) {
+        WorkoutProgramDto dto = new WorkoutProgramDto();
+        dto.setName("Strength");
+        List<WorkoutDayDto> dayDtos = new ArrayList<>();
+        for (int d = 0; d < days; d++) {
+            WorkoutDayDto dayDto = new WorkoutDayDto();
+            dayDto.setDayOfWeek(WorkoutDay.DayOfWeek.values()[d].name());
+            dayDtos.add(dayDto);
+        }
+        for (int i = 0; i < exercises; i++) {
+            List<WorkoutDayExerciseDto> dayExercises = dayDtos.get(i % days).getExercises();
+            dayExercises.add(plan(catalog.get(i % catalog.size()).getId(), dayExercises.size()));
+        }
+        dto.setWorkoutDays(dayDtos);
+        return dto;
+    }
+
+    private WorkoutDayExerciseDto plan(Long exerciseId, int orderIndex) {
+        WorkoutDayExerciseDto dto = new WorkoutDayExerciseDto();
+        dto.setExerciseId(exerciseId);
+        dto.setOrderIndex(orderIndex);
+        return dto;
+    }
+}
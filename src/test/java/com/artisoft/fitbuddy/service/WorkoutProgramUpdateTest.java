@@ -0,0 +1,182 @@
+package com.artisoft.fitbuddy.service;
+
+import com.artisoft.fitbuddy.dto.WorkoutDayDto;
+import com.artisoft.fitbuddy.dto.WorkoutDayExerciseDto;
+import com.artisoft.fitbuddy.dto.WorkoutProgramDto;
+import com.artisoft.fitbuddy.model.*;
+import com.artisoft.fitbuddy.support.JpaSliceTest;
+import com.artisoft.fitbuddy.support.TrainingFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+@Import(WorkoutProgramService.class)
+class WorkoutProgramUpdateTest {
+
+    private static final String TEST_USERNAME = "lifter";
+    private static final int PLANNED_EXERCISES = 30;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WorkoutProgramService workoutProgramService;
+
+    private TrainingFixtures fixtures;
+    private WorkoutProgram program;
+    private WorkoutDay day;
+    private final List<WorkoutDayExercise> planned = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TrainingFixtures(entityManager);
+        program = fixtures.program(fixtures.user(TEST_USERNAME), "Strength");
+        day = fixtures.day(program, WorkoutDay.DayOfWeek.MONDAY);
+
+        for (int i = 0; i < PLANNED_EXERCISES; i++) {
+            planned.add(fixtures.plannedExercise(day, fixtures.exercise("Exercise " + i), i, 3, 5));
+        }
+    }
+
+    @Test
+    @DisplayName("should write only the rows that changed and keep the ids of the others")
+    void mergesExercisesInPlace() {
+        // Given a log against the first two rows of the plan
+        ExerciseProgress removedEntry = logged(planned.get(0));
+        ExerciseProgress keptEntry = logged(planned.get(1));
+        Exercise lunge = fixtures.exercise("Lunge");
+        entityManager.flush();
+        entityManager.clear();
+
+        WorkoutProgramDto dto = workoutProgramService.getWorkoutProgram(program.getId(), TEST_USERNAME);
+        List<WorkoutDayExerciseDto> exercises = dto.getWorkoutDays().get(0).getExercises();
+        exercises.remove(0);
+        exercises.get(0).setSets(5);
+        exercises.add(plan(null, lunge.getId(), PLANNED_EXERCISES));
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        WorkoutProgramDto result = workoutProgramService.updateWorkoutProgram(program.getId(), dto, TEST_USERNAME);
+        entityManager.flush();
+
+        // Then one insert, one update and one delete, whatever the size of the day
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+
+        List<WorkoutDayExerciseDto> merged = result.getWorkoutDays().get(0).getExercises();
+        assertEquals(PLANNED_EXERCISES, merged.size());
+        for (int i = 0; i < PLANNED_EXERCISES - 1; i++) {
+            assertEquals(planned.get(i + 1).getId(), merged.get(i).getId());
+        }
+        assertNotNull(merged.get(PLANNED_EXERCISES - 1).getId());
+        assertEquals(5, merged.get(0).getSets());
+
+        // And the entry logged against the removed row keeps its exercise
+        entityManager.clear();
+        ExerciseProgress detached = entityManager.find(ExerciseProgress.class, removedEntry.getId());
+        assertNull(detached.getPlannedExercise());
+        assertEquals(planned.get(0).getExercise().getId(), detached.getReplacementExercise().getId());
+        assertEquals(planned.get(1).getId(),
+                entityManager.find(ExerciseProgress.class, keptEntry.getId()).getPlannedExercise().getId());
+    }
+
+    @Test
+    @DisplayName("should replace a row that is switched to another exercise")
+    void replacesRowWithNewExercise() {
+        // Given
+        ExerciseProgress entry = logged(planned.get(0));
+        Exercise lunge = fixtures.exercise("Lunge");
+        entityManager.flush();
+        entityManager.clear();
+
+        WorkoutDayDto dayDto = new WorkoutDayDto();
+        dayDto.setDayOfWeek("MONDAY");
+        dayDto.setExercises(List.of(plan(planned.get(0).getId(), lunge.getId(), 0)));
+
+        // When
+        WorkoutProgramDto result = workoutProgramService.updateProgramWorkoutDay(
+                program.getId(), day.getId(), dayDto, TEST_USERNAME);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        WorkoutDayExerciseDto replaced = result.getWorkoutDays().get(0).getExercises().get(0);
+        assertNotEquals(planned.get(0).getId(), replaced.getId());
+        assertEquals("Lunge", replaced.getExerciseName());
+        assertEquals(planned.get(0).getExercise().getId(),
+                entityManager.find(ExerciseProgress.class, entry.getId()).getReplacementExercise().getId());
+    }
+
+    @Test
+    @DisplayName("should keep the progress logged on a day that is removed")
+    void removesLoggedDay() {
+        // Given a second day with a logged row
+        WorkoutDay friday = fixtures.day(program, WorkoutDay.DayOfWeek.FRIDAY);
+        WorkoutDayExercise deadlift = fixtures.plannedExercise(friday, fixtures.exercise("Deadlift"), 0, 1, 5);
+        ExerciseProgress entry = logged(deadlift);
+        entityManager.flush();
+        entityManager.clear();
+
+        WorkoutProgramDto dto = workoutProgramService.getWorkoutProgram(program.getId(), TEST_USERNAME);
+        dto.getWorkoutDays().removeIf(dayDto -> dayDto.getId().equals(friday.getId()));
+
+        // When
+        WorkoutProgramDto result = workoutProgramService.updateWorkoutProgram(program.getId(), dto, TEST_USERNAME);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then the day is gone but its entry keeps its log and the exercise it was done as
+        assertEquals(List.of(day.getId()), result.getWorkoutDays().stream().map(WorkoutDayDto::getId).toList());
+        assertNull(entityManager.find(WorkoutDay.class, friday.getId()));
+        ExerciseProgress kept = entityManager.find(ExerciseProgress.class, entry.getId());
+        assertNull(kept.getPlannedExercise());
+        assertEquals(deadlift.getExercise().getId(), kept.getReplacementExercise().getId());
+        assertNull(kept.getProgressLog().getWorkoutDay());
+        assertEquals(program.getId(), kept.getProgressLog().getWorkoutProgram().getId());
+    }
+
+    private ExerciseProgress logged(WorkoutDayExercise wde) {
+        ProgressLog log = new ProgressLog();
+        log.setDate(LocalDate.of(2024, 3, 1));
+        log.setWorkoutProgram(program);
+        log.setWorkoutDay(wde.getWorkoutDay());
+        entityManager.persist(log);
+
+        ExerciseProgress progress = new ExerciseProgress();
+        progress.setProgressLog(log);
+        progress.setPlannedExercise(wde);
+        progress.setOrderIndex(0);
+        progress.setActualSets(3);
+        entityManager.persist(progress);
+        return progress;
+    }
+
+    private WorkoutDayExerciseDto plan(Long id, Long exerciseId, int orderIndex) {
+        WorkoutDayExerciseDto dto = new WorkoutDayExerciseDto();
+        dto.setId(id);
+        dto.setExerciseId(exerciseId);
+        dto.setOrderIndex(orderIndex);
+        dto.setSets(3);
+        dto.setRepsPerSet(5);
+        return dto;
+    }
+}
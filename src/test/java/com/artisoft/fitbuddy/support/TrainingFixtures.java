@@ -0,0 +1,80 @@
+package com.artisoft.fitbuddy.support;
+
+import com.artisoft.fitbuddy.model.Exercise;
+import com.artisoft.fitbuddy.model.User;
+import com.artisoft.fitbuddy.model.WorkoutDay;
+import com.artisoft.fitbuddy.model.WorkoutDayExercise;
+import com.artisoft.fitbuddy.model.WorkoutProgram;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Persists the user, program, day and planned exercise rows that progress logs hang off.
+ * Must be called inside a transaction.
+ */
+public class TrainingFixtures {
+    // Children first, so foreign keys never block a delete
+    private static final List<String> TABLES = List.of("exercise_progress_set_details", "exercise_progresses",
+            "progress_logs", "exercise_stats", "exercise_volume_rollups", "workout_day_exercises", "exercises",
+            "workout_days", "workout_programs", "app_user");
+
+    private final EntityManager entityManager;
+
+    public TrainingFixtures(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setRole("ROLE_USER");
+        entityManager.persist(user);
+        return user;
+    }
+
+    public WorkoutProgram program(User user, String name) {
+        WorkoutProgram program = new WorkoutProgram();
+        program.setName(name);
+        program.setUser(user);
+        entityManager.persist(program);
+        return program;
+    }
+
+    public WorkoutDay day(WorkoutProgram program, WorkoutDay.DayOfWeek dayOfWeek) {
+        WorkoutDay day = new WorkoutDay();
+        day.setDayOfWeek(dayOfWeek);
+        day.setWorkoutProgram(program);
+        entityManager.persist(day);
+        return day;
+    }
+
+    public Exercise exercise(String name) {
+        Exercise exercise = new Exercise();
+        exercise.setName(name);
+        entityManager.persist(exercise);
+        return exercise;
+    }
+
+    public WorkoutDayExercise plannedExercise(WorkoutDay day, Exercise exercise, int orderIndex, int sets, int repsPerSet) {
+        WorkoutDayExercise wde = new WorkoutDayExercise();
+        wde.setWorkoutDay(day);
+        wde.setExercise(exercise);
+        wde.setOrderIndex(orderIndex);
+        wde.setSets(sets);
+        wde.setRepsPerSet(repsPerSet);
+        entityManager.persist(wde);
+        return wde;
+    }
+
+    /**
+     * Empties every table the fixtures and progress logs write to, for tests that commit outside the test
+     * transaction.
+     */
+    public static void deleteAll(JdbcTemplate jdbcTemplate) {
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+    }
+}